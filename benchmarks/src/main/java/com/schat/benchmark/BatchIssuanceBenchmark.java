@@ -0,0 +1,85 @@
+package com.schat.benchmark;
+
+import com.schat.signature.coordinator.LocalPartySigningClient;
+import com.schat.signature.coordinator.PartySigningClient;
+import com.schat.signature.coordinator.ThresholdSigningCoordinator;
+import com.schat.signature.core.SDithKeyGenerator;
+import com.schat.signature.core.SDithSignature;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of batchSize logins through the coordinator: one quorum round per token
+ * against one round for the whole burst (what TokenIssuanceBatcher does)..
+ * Time per operation is time per burst; divide by batchSize for tokens/sec..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchIssuanceBenchmark {
+
+    @Param({"16", "64", "256"})
+    public int batchSize;
+
+    @Param({"2/3", "3/5"})
+    public String quorum;
+
+    private ExecutorService executor;
+    private ThresholdSigningCoordinator coordinator;
+    private List<byte[]> messages;
+
+    @Setup
+    public void setUp() {
+        int[] q = BenchmarkFixtures.parseQuorum(quorum);
+        SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(
+            q[0], q[1], BenchmarkFixtures.CURVE_ORDER);
+
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<PartySigningClient> parties = new ArrayList<>();
+        for (int i = 1; i <= q[1]; i++) {
+            parties.add(new LocalPartySigningClient(keyGenerator.getKeyPairForParty(i), executor));
+        }
+        coordinator = new ThresholdSigningCoordinator(parties, keyGenerator.getPublicKey(),
+            Duration.ofMillis(50), Duration.ofSeconds(5));
+
+        messages = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            messages.add(BenchmarkFixtures.sampleToken(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        coordinator.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<SDithSignature> signEach() {
+        List<CompletableFuture<SDithSignature>> futures = new ArrayList<>(batchSize);
+        for (byte[] message : messages) {
+            futures.add(coordinator.sign(message));
+        }
+        List<SDithSignature> signatures = new ArrayList<>(batchSize);
+        for (CompletableFuture<SDithSignature> future : futures) {
+            signatures.add(future.join());
+        }
+        return signatures;
+    }
+
+    @Benchmark
+    public List<SDithSignature> signBatch() {
+        return coordinator.signBatch(messages).join();
+    }
+}
@@ -0,0 +1,37 @@
+package com.schat.benchmark;
+
+import com.schat.signature.config.SignatureConfig;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Shared inputs for the benchmarks, shaped like what ThresholdTokenService signs..
+ */
+final class BenchmarkFixtures {
+    static final BigInteger CURVE_ORDER = SignatureConfig.DEFAULT_CURVE_ORDER;
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * An unsigned JWT (header.payload) comparable to JwtUtils.generateUnsignedJwtToken output..
+     */
+    static byte[] sampleToken(int seed) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString((
+            "{\"sub\":\"user" + seed + "\",\"email\":\"user" + seed + "@schat.local\","
+            + "\"id\":" + seed + ",\"iat\":1760000000,\"exp\":1760003600}")
+            .getBytes(StandardCharsets.UTF_8));
+        return (header + "." + payload + ".").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a "t/n" quorum parameter into {threshold, totalParties}..
+     */
+    static int[] parseQuorum(String quorum) {
+        String[] parts = quorum.split("/");
+        return new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) };
+    }
+}
@@ -0,0 +1,45 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.SDithKeyGenerator;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dealer cost of SDithThresholdScheme.generateKeyPair for growing quorums..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyGenerationBenchmark {
+
+    @Param({"2/3", "3/5", "7/10", "34/100", "334/1000"})
+    public String quorum;
+
+    private int threshold;
+    private int totalParties;
+
+    @Setup
+    public void setUp() {
+        int[] q = BenchmarkFixtures.parseQuorum(quorum);
+        threshold = q[0];
+        totalParties = q[1];
+    }
+
+    @Benchmark
+    public SDithKeyGenerator generateKeyPair() {
+        return SDithThresholdScheme.generateKeyPair(threshold, totalParties, BenchmarkFixtures.CURVE_ORDER);
+    }
+
+    @Benchmark
+    public Map<Integer, BigInteger> generateKeyPairAndDealAllShares() {
+        return SDithThresholdScheme.generateKeyPair(threshold, totalParties, BenchmarkFixtures.CURVE_ORDER)
+            .getShares();
+    }
+}
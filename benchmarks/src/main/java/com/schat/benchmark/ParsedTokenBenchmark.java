@@ -0,0 +1,96 @@
+package com.schat.benchmark;
+
+import com.schat.schatapi.security.ParsedToken;
+import com.schat.signature.core.*;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling of AuthTokenFilter, threshold verification itself excluded..
+ * perCallParsing replays the old sequence (split and parser built in verifyTokenSignature,
+ * validateJwtStructure, isTokenExpired and getUserNameFromJwtToken); parseOnce is the
+ * ParsedToken path. Compare gc.alloc.rate.norm for the allocation side..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsedTokenBenchmark {
+
+    private String rawToken;
+    private JwtParser sharedParser;
+
+    @Setup
+    public void setUp() {
+        // Same shape as JwtUtils.generateUnsignedJwtToken..
+        Date now = new Date();
+        String jwt = Jwts.builder()
+            .subject("user7")
+            .claim("email", "user7@schat.local")
+            .claim("id", 7L)
+            .issuedAt(now)
+            .expiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+            .compact();
+
+        SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(
+            2, 3, BenchmarkFixtures.CURVE_ORDER);
+        SDithPrivateKeyShare first = keyGenerator.getKeyPairForParty(1).getPrivateKeyShare();
+        SDithPrivateKeyShare second = keyGenerator.getKeyPairForParty(2).getPrivateKeyShare();
+        byte[] message = jwt.getBytes();
+        BigInteger nonce = SDithThresholdScheme.generateDeterministicNonce(message, BenchmarkFixtures.CURVE_ORDER);
+        SDithSignature signature = SDithThresholdScheme.combineSignatures(List.of(
+            SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+                message, first.getShare(), first.getIndex(), nonce, BenchmarkFixtures.CURVE_ORDER),
+            SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+                message, second.getShare(), second.getIndex(), nonce, BenchmarkFixtures.CURVE_ORDER)),
+            keyGenerator.getPublicKey(), message);
+
+        rawToken = jwt + "::" + Base64.getEncoder().encodeToString(signature.toBytes());
+        sharedParser = Jwts.parser().unsecured().build();
+    }
+
+    @Benchmark
+    public void perCallParsing(Blackhole bh) {
+        // verifyTokenSignature..
+        String[] parts = rawToken.split("::");
+        bh.consume(parts[0].getBytes());
+        bh.consume(SDithSignature.fromBytes(Base64.getDecoder().decode(parts[1])));
+
+        // validateJwtStructure, with its isTokenExpired call..
+        String jwtPart = rawToken.split("::")[0];
+        bh.consume(jwtPart.split("\\.").length);
+        bh.consume(claimsPerCall(rawToken));
+        bh.consume(claimsPerCall(rawToken).getExpiration().before(new Date()));
+
+        // getUserNameFromJwtToken..
+        bh.consume(claimsPerCall(rawToken).getSubject());
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole bh) {
+        ParsedToken token = ParsedToken.parse(rawToken, sharedParser);
+        bh.consume(token.getSignedBytes());
+        bh.consume(token.getSignature());
+        bh.consume(token.isExpired());
+        bh.consume(token.getSubject());
+    }
+
+    private static Claims claimsPerCall(String token) {
+        return (Claims) Jwts.parser()
+            .unsecured()
+            .build()
+            .parse(token.split("::")[0])
+            .getPayload();
+    }
+}
@@ -0,0 +1,46 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.SDitHKeyPair;
+import com.schat.signature.core.SDitHParameters;
+import com.schat.signature.core.SDitHSigner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDitHSigner sign/verify across the three SDitHParameters security levels..
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SDitHSignerBenchmark {
+
+    @Param({"128", "192", "256"})
+    public int securityLevel;
+
+    private SDitHSigner signer;
+    private SDitHKeyPair keyPair;
+    private byte[] message;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() {
+        signer = new SDitHSigner();
+        keyPair = signer.generateKeyPair(new SDitHParameters(securityLevel));
+        message = BenchmarkFixtures.sampleToken(7);
+        signature = signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return signer.verify(message, signature, keyPair.getPublicKey());
+    }
+}
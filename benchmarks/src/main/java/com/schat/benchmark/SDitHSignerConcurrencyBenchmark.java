@@ -0,0 +1,73 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.SDitHKeyPair;
+import com.schat.signature.core.SDitHParameters;
+import com.schat.signature.core.SDitHSigner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One shared SDitHSigner driven from 1, 2, 4 and all available threads..
+ * Throughput should grow close to linearly with the thread count..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SDitHSignerConcurrencyBenchmark {
+
+    @Param({"128", "256"})
+    public int securityLevel;
+
+    private SDitHSigner signer;
+    private SDitHKeyPair keyPair;
+    private byte[] message;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() {
+        signer = new SDitHSigner();
+        keyPair = signer.generateKeyPair(new SDitHParameters(securityLevel));
+        message = BenchmarkFixtures.sampleToken(7);
+        signature = signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] sign1Thread() {
+        return signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public byte[] sign2Threads() {
+        return signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] sign4Threads() {
+        return signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] signMaxThreads() {
+        return signer.sign(message, keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean verify1Thread() {
+        return signer.verify(message, signature, keyPair.getPublicKey());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean verifyMaxThreads() {
+        return signer.verify(message, signature, keyPair.getPublicKey());
+    }
+}
@@ -0,0 +1,62 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.SDithSignature;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wire encoding of combined signatures, as done for every token issued and accepted..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureEncodingBenchmark {
+
+    private SDithSignature signature;
+    private byte[] encoded;
+    private byte[] framed;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        signature = new SDithSignature(
+            new BigInteger(256, random).mod(BenchmarkFixtures.CURVE_ORDER),
+            new BigInteger(256, random).mod(BenchmarkFixtures.CURVE_ORDER));
+        encoded = signature.toBytes();
+
+        // Signature embedded in a larger frame, as when it trails a token..
+        framed = new byte[16 + SDithSignature.ENCODED_LENGTH];
+        System.arraycopy(encoded, 0, framed, 16, encoded.length);
+        buffer = ByteBuffer.allocate(SDithSignature.ENCODED_LENGTH);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return signature.toBytes();
+    }
+
+    @Benchmark
+    public ByteBuffer encodeTo() {
+        buffer.clear();
+        signature.encodeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public SDithSignature fromBytes() {
+        return SDithSignature.fromBytes(encoded);
+    }
+
+    @Benchmark
+    public SDithSignature fromSlice() {
+        return SDithSignature.fromBytes(framed, 16, SDithSignature.ENCODED_LENGTH);
+    }
+}
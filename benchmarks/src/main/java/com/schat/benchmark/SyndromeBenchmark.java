@@ -0,0 +1,77 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.SDitHKeyPair;
+import com.schat.signature.core.SDitHParameters;
+import com.schat.signature.core.SDitHSigner;
+import com.schat.signature.core.SyndromeEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GF(2) syndrome s = H * e: the old bit-at-a-time loop against SyndromeEngine,
+ * plus full SDitH key generation, for the three SDitHParameters security levels..
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyndromeBenchmark {
+
+    @Param({"128", "192", "256"})
+    public int securityLevel;
+
+    private SDitHParameters params;
+    private SDitHSigner signer;
+    private byte[] h;
+    private byte[] errorVector;
+    private long[][] packedRows;
+    private long[] errorWords;
+
+    @Setup
+    public void setUp() {
+        params = new SDitHParameters(securityLevel);
+        signer = new SDitHSigner();
+        SDitHKeyPair keyPair = signer.generateKeyPair(params);
+        h = keyPair.getPublicKey().getH();
+        errorVector = keyPair.getPrivateKey().getSecretKey();
+
+        int n = params.getN();
+        packedRows = SyndromeEngine.packRows(h, n - params.getK(), n);
+        errorWords = SyndromeEngine.toWords(errorVector, n);
+    }
+
+    @Benchmark
+    public byte[] bitwiseSyndrome() {
+        int n = params.getN();
+        int k = params.getK();
+        byte[] syndrome = new byte[(n - k + 7) / 8];
+        for (int i = 0; i < n - k; i++) {
+            int bit = 0;
+            for (int j = 0; j < n; j++) {
+                int hBit = (h[(i * n + j) / 8] >> ((i * n + j) % 8)) & 1;
+                int eBit = (errorVector[j / 8] >> (j % 8)) & 1;
+                bit ^= (hBit & eBit);
+            }
+            syndrome[i / 8] |= (bit << (i % 8));
+        }
+        return syndrome;
+    }
+
+    @Benchmark
+    public byte[] packedSyndrome() {
+        return SyndromeEngine.computeSyndrome(h, errorVector, params.getN(), params.getK());
+    }
+
+    @Benchmark
+    public byte[] prepackedSyndrome() {
+        return SyndromeEngine.multiply(packedRows, errorWords, params.getN() - params.getK());
+    }
+
+    @Benchmark
+    public SDitHKeyPair generateKeyPair() {
+        return signer.generateKeyPair(params);
+    }
+}
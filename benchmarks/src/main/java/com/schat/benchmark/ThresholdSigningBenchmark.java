@@ -0,0 +1,70 @@
+package com.schat.benchmark;
+
+import com.schat.signature.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token costs on the signing and verification paths of SDithThresholdScheme..
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThresholdSigningBenchmark {
+
+    @Param({"2/3", "3/5", "7/10"})
+    public String quorum;
+
+    private byte[] message;
+    private BigInteger sharedNonce;
+    private SDithKeyPair firstParty;
+    private SDithPublicKey publicKey;
+    private List<SDithPartialSignature> partials;
+    private SDithSignature signature;
+
+    @Setup
+    public void setUp() {
+        int[] q = BenchmarkFixtures.parseQuorum(quorum);
+        int threshold = q[0];
+        SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(
+            threshold, q[1], BenchmarkFixtures.CURVE_ORDER);
+
+        message = BenchmarkFixtures.sampleToken(42);
+        sharedNonce = SDithThresholdScheme.generateDeterministicNonce(message, BenchmarkFixtures.CURVE_ORDER);
+        firstParty = keyGenerator.getKeyPairForParty(1);
+        publicKey = keyGenerator.getPublicKey();
+
+        // Same participant set for every token, like ThresholdTokenService does..
+        partials = new ArrayList<>();
+        for (int i = 1; i <= threshold; i++) {
+            SDithPrivateKeyShare share = keyGenerator.getKeyPairForParty(i).getPrivateKeyShare();
+            partials.add(SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+                message, share.getShare(), share.getIndex(), sharedNonce, BenchmarkFixtures.CURVE_ORDER));
+        }
+        signature = SDithThresholdScheme.combineSignatures(partials, publicKey, message);
+    }
+
+    @Benchmark
+    public SDithPartialSignature generatePartialSignatureWithSharedNonce() {
+        SDithPrivateKeyShare share = firstParty.getPrivateKeyShare();
+        return SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+            message, share.getShare(), share.getIndex(), sharedNonce, BenchmarkFixtures.CURVE_ORDER);
+    }
+
+    @Benchmark
+    public SDithSignature combineSignatures() {
+        return SDithThresholdScheme.combineSignatures(partials, publicKey, message);
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return SDithThresholdScheme.verifySignature(message, signature, publicKey);
+    }
+}
@@ -2,11 +2,13 @@ package com.schat.schatapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
     "com.schat.schatapi",
     "com.schat.signature"
 })
+@EnableScheduling
 public class SChatAPIApplication {
 
 	public static void main(String[] args) {
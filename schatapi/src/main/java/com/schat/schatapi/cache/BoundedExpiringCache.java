@@ -0,0 +1,162 @@
+package com.schat.schatapi.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small concurrent cache with a per-entry expiry and a size bound..
+ * Lookups are a single ConcurrentHashMap get. When full, the entry expiring soonest within a
+ * small sample is evicted, which approximates dropping the oldest entries without keeping an
+ * ordered structure. Expired entries are also purged by a full scan, but at most once per
+ * PURGE_INTERVAL_MS and by one thread at a time, so a full cache doesn't scan on every put..
+ */
+public class BoundedExpiringCache<K, V> {
+    private static final int EVICTION_SAMPLE = 16;
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final String name;
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final AtomicLong nextPurgeMillis = new AtomicLong();
+
+    public BoundedExpiringCache(String name, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The cached value, or null if absent or expired..
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * The cached value, or the loader's result cached for ttlMillis..
+     * Concurrent misses on one key may each call the loader; the load time is recorded
+     * either way, and a loader exception propagates without caching anything..
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader, long ttlMillis) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long start = System.nanoTime();
+        try {
+            value = loader.apply(key);
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+        if (value != null) {
+            put(key, value, System.currentTimeMillis() + ttlMillis);
+        }
+        return value;
+    }
+
+    /**
+     * Stores a value until the given epoch millis; past expiries are ignored..
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Stores the value only if the key has no live entry; true when it was stored..
+     */
+    public boolean putIfAbsent(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return false;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        Entry<V> fresh = new Entry<>(value, expiresAtMillis);
+        return entries.compute(key, (k, existing) ->
+            existing != null && existing.expiresAtMillis > now ? existing : fresh) == fresh;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize,
+            loads.sum(), loadNanos.sum());
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        long due = nextPurgeMillis.get();
+        if (now >= due && nextPurgeMillis.compareAndSet(due, now + PURGE_INTERVAL_MS)) {
+            entries.entrySet().removeIf(e -> e.getValue().expiresAtMillis <= now);
+        }
+
+        while (entries.size() >= maxSize) {
+            K victim = null;
+            long soonest = Long.MAX_VALUE;
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE && it.hasNext(); i++) {
+                Map.Entry<K, Entry<V>> candidate = it.next();
+                if (candidate.getValue().expiresAtMillis < soonest) {
+                    soonest = candidate.getValue().expiresAtMillis;
+                    victim = candidate.getKey();
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            if (entries.remove(victim) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.schat.schatapi.cache;
+
+/**
+ * Point-in-time counters of a cache, as served by /api/admin/cache-stats..
+ */
+public class CacheStats {
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int maxSize;
+    private final long loadCount;
+    private final long totalLoadNanos;
+
+    public CacheStats(String name, long hits, long misses, long evictions, int size, int maxSize,
+                      long loadCount, long totalLoadNanos) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.loadCount = loadCount;
+        this.totalLoadNanos = totalLoadNanos;
+    }
+
+    // Getters..
+    public String getName() { return name; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getLoadCount() { return loadCount; }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public double getAverageLoadMillis() {
+        return loadCount == 0 ? 0.0 : totalLoadNanos / 1_000_000.0 / loadCount;
+    }
+}
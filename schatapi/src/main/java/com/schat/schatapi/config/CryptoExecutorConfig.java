@@ -0,0 +1,40 @@
+package com.schat.schatapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for signing work, so Tomcat request threads don't run the crypto..
+ * Sized to the cores since the work is CPU bound; the queue is bounded so a login storm
+ * fails fast with RejectedExecutionException instead of piling up unbounded..
+ */
+@Configuration
+public class CryptoExecutorConfig {
+
+    @Value("${schat.crypto.threads:0}")
+    private int threads;
+
+    @Value("${schat.crypto.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Bean(name = "cryptoExecutor", destroyMethod = "shutdown")
+    public ExecutorService cryptoExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "crypto-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,39 @@
+package com.schat.schatapi.config;
+
+import com.schat.schatapi.security.AccountStatusRegistry;
+import com.schat.schatapi.security.SigningKeyRegistry;
+import com.schat.schatapi.service.RoomMessageRelay;
+import com.schat.schatapi.service.TokenBlacklistService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this node to every room channel, to token revocations, account-status bumps
+ * and signing-key rotations when schat.chat.redis.enabled is set..
+ * One pattern subscription (schat:room:*) on one connection, whatever the number of rooms;
+ * the connection itself comes from spring.data.redis.*..
+ */
+@Configuration
+@ConditionalOnProperty(name = "schat.chat.redis.enabled", havingValue = "true")
+public class RedisRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer roomMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      RoomMessageRelay roomMessageRelay,
+                                                                      TokenBlacklistService tokenBlacklistService,
+                                                                      AccountStatusRegistry accountStatusRegistry,
+                                                                      SigningKeyRegistry signingKeyRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(roomMessageRelay, new PatternTopic(RoomMessageRelay.CHANNEL_PREFIX + "*"));
+        container.addMessageListener(tokenBlacklistService, new ChannelTopic(TokenBlacklistService.REVOCATION_CHANNEL));
+        container.addMessageListener(accountStatusRegistry, new ChannelTopic(AccountStatusRegistry.STATUS_CHANNEL));
+        container.addMessageListener(signingKeyRegistry, new ChannelTopic(SigningKeyRegistry.ROTATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,131 @@
+package com.schat.schatapi.config;
+
+import com.schat.schatapi.security.StompAuthChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP over /ws, rooms published on /topic/rooms/{roomId}..
+ * The in-memory broker only delivers to the subscribers of a destination, so fan-out follows
+ * room size. Setting schat.websocket.relay.enabled switches to an external broker
+ * (RabbitMQ/ActiveMQ STOMP) without touching the controllers; the relay also needs
+ * reactor-netty on the classpath..
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    // 0 means twice the cores, Spring's own default..
+    @Value("${schat.websocket.inboundThreads:0}")
+    private int inboundThreads;
+
+    @Value("${schat.websocket.outboundThreads:0}")
+    private int outboundThreads;
+
+    @Value("${schat.websocket.channelQueueCapacity:10000}")
+    private int channelQueueCapacity;
+
+    @Value("${schat.websocket.heartbeatMs:10000}")
+    private long heartbeatMs;
+
+    @Value("${schat.websocket.sendTimeLimitMs:15000}")
+    private int sendTimeLimitMs;
+
+    @Value("${schat.websocket.sendBufferSizeLimit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${schat.websocket.messageSizeLimit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${schat.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${schat.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${schat.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${schat.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${schat.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry config) {
+        if (relayEnabled) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[] { heartbeatMs, heartbeatMs })
+                .setTaskScheduler(heartbeatScheduler());
+        }
+        config.setApplicationDestinationPrefixes("/app");
+        // Several outbound threads would otherwise reorder a session's messages..
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        int threads = poolSize(inboundThreads);
+        registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor()
+            .corePoolSize(threads)
+            .maxPoolSize(threads)
+            .queueCapacity(channelQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        int threads = poolSize(outboundThreads);
+        registration.taskExecutor()
+            .corePoolSize(threads)
+            .maxPoolSize(threads)
+            .queueCapacity(channelQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A slow client is dropped instead of buffering without bound..
+        registration.setSendTimeLimit(sendTimeLimitMs)
+            .setSendBufferSizeLimit(sendBufferSizeLimit)
+            .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    private static int poolSize(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    // Not a bean, so it doesn't become the application's default TaskScheduler..
+    private ThreadPoolTaskScheduler heartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ws-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
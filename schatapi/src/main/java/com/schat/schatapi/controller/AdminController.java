@@ -0,0 +1,89 @@
+package com.schat.schatapi.controller;
+
+import com.schat.schatapi.cache.CacheStats;
+import com.schat.schatapi.dto.MessageResponse;
+import com.schat.schatapi.dto.UserProfileResponse;
+import com.schat.schatapi.security.SigningKeyRegistry;
+import com.schat.schatapi.security.VerifiedTokenCache;
+import com.schat.schatapi.service.CachingUserDetailsService;
+import com.schat.schatapi.service.RefreshTokenService;
+import com.schat.schatapi.service.RoomMessageRelay;
+import com.schat.schatapi.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private SigningKeyRegistry signingKeyRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CachingUserDetailsService userDetailsService;
+
+    @Autowired
+    private RoomMessageRelay roomMessageRelay;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    /**
+     * Hit/miss/eviction counters and load latency of the in-memory caches..
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheStats> cacheStats() {
+        return List.of(verifiedTokenCache.stats(), userDetailsService.stats(),
+            refreshTokenService.stats(), roomMessageRelay.stats());
+    }
+
+    @GetMapping("/signing-keys")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> signingKeys() {
+        return Map.of(
+            "activeKid", signingKeyRegistry.activeKey().getKid(),
+            "acceptedKids", signingKeyRegistry.acceptedKeyIds());
+    }
+
+    /**
+     * New tokens get a fresh key on every node; tokens signed with the previous one stay valid
+     * until they expire. Refused when rotation can't be shared (no Redis)..
+     */
+    @PostMapping("/signing-keys/rotate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rotateSigningKey() {
+        try {
+            signingKeyRegistry.rotate();
+            return ResponseEntity.ok(signingKeys());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/users/{username}/active")
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserProfileResponse setUserActive(@PathVariable String username, @RequestParam boolean value) {
+        return userService.setUserActive(username, value);
+    }
+}
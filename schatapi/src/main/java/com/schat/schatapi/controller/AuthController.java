@@ -8,6 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 //import java.util.HashSet;
 //import java.util.Set;
 
@@ -18,15 +20,15 @@ public class AuthController {
     @Autowired
     AuthService authService;
 
+    // Async: the request thread is released while the token is being threshold signed..
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            JwtResponse response = authService.authenticateUser(
-                loginRequest.getUsername(), loginRequest.getPassword());
-            return ResponseEntity.ok(response);
+            return authService.authenticateUser(loginRequest.getUsername(), loginRequest.getPassword())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::badRequest);
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(new MessageResponse("❌Error: " + e.getMessage()));
+            return CompletableFuture.completedFuture(badRequest(e));
         }
     }
 
@@ -72,25 +74,32 @@ public class AuthController {
     }
 
     @PostMapping("/refreshtoken")
-    public ResponseEntity<?> refreshtoken(@Valid @RequestBody TokenRefreshRequest request) {
+    public CompletableFuture<ResponseEntity<?>> refreshtoken(@Valid @RequestBody TokenRefreshRequest request) {
         try {
-            JwtResponse response = authService.refreshToken(request.getRefreshToken());
-            return ResponseEntity.ok(response);
+            return authService.refreshToken(request.getRefreshToken())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::badRequest);
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body(new MessageResponse("❌Error: " + e.getMessage()));
+            return CompletableFuture.completedFuture(badRequest(e));
         }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(@RequestHeader(value = "Authorization", required = false) String authorization) {
         try {
-            authService.logoutUser();
+            String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+            authService.logoutUser(accessToken);
             return ResponseEntity.ok(new MessageResponse("🎉 Log out successful!!.."));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new MessageResponse("❌ Error: " + e.getMessage()));
         }
     }
-}
 
+    private ResponseEntity<?> badRequest(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return ResponseEntity.badRequest()
+            .body(new MessageResponse("❌Error: " + cause.getMessage()));
+    }
+}
@@ -1,30 +1,102 @@
 package com.schat.schatapi.controller;
 
+import com.schat.schatapi.dto.MessagePage;
+import com.schat.schatapi.dto.MessageResponse;
+import com.schat.schatapi.dto.MessageView;
 import com.schat.schatapi.model.Message;
-import com.schat.schatapi.repository.MessageRepository;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.service.UserDetailsImpl;
+import com.schat.schatapi.service.MessageService;
+import com.schat.schatapi.service.RoomMessageRelay;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
-import java.util.List;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
 
 @Controller
 public class ChatController {
 
     @Autowired
-    private MessageRepository messageRepository;
+    private MessageService messageService;
+
+    @Autowired
+    private RoomMessageRelay roomMessageRelay;
+
+    /**
+     * Client sends to /app/rooms/{roomId}/send, subscribers of /topic/rooms/{roomId} receive it..
+     */
+    @MessageMapping("/rooms/{roomId}/send")
+    public void sendToRoom(@DestinationVariable String roomId, Message message, Principal principal) {
+        message.setRoomId(roomId);
+        publish(message, principal);
+    }
 
+    /**
+     * Older clients naming the room in the payload; delivered to that room only..
+     */
     @MessageMapping("/chat.send")
-    @SendTo("/topic/messages")
-    public Message sendMessage(Message message) {
-        messageRepository.save(message);
-        return message;
+    public void sendMessage(Message message, Principal principal) {
+        if (message.getRoomId() == null) {
+            throw new IllegalArgumentException("❌Error: roomId is required..");
+        }
+        publish(message, principal);
     }
 
+    private void publish(Message message, Principal principal) {
+        // The sender is whoever authenticated the STOMP session, never what the payload claims..
+        if (!(principal instanceof Authentication)
+                || !((Authentication) principal).isAuthenticated()
+                || !(((Authentication) principal).getPrincipal() instanceof UserDetailsImpl)) {
+            throw new AccessDeniedException("❌Error: sending requires an authenticated session..");
+        }
+        UserDetailsImpl user = (UserDetailsImpl) ((Authentication) principal).getPrincipal();
+        User sender = new User();
+        sender.setId(user.getId());
+        sender.setUsername(user.getUsername());
+        message.setSender(sender);
+        // Subscribers get the same MessageView shape as history pages, on every node..
+        roomMessageRelay.publish(messageService.submit(message));
+    }
+
+    /**
+     * Room history, one page at a time: ?limit=50, then ?before=<cursor> for older messages
+     * or ?after=<cursor> for newer ones..
+     */
     @GetMapping("/api/messages/{roomId}")
     @ResponseBody
-    public List<Message> getMessages(@PathVariable String roomId) {
-        return messageRepository.findByRoomIdOrderByTimestampAsc(roomId);
+    public ResponseEntity<?> getMessages(@PathVariable String roomId,
+                                         @RequestParam(required = false) String before,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            MessagePage<MessageView> page = messageService.getHistory(roomId, before, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Full room history as NDJSON, one message per line, streamed while it is read..
+     * Runs on the request thread rather than as async StreamingResponseBody, so the MVC
+     * async timeout doesn't cut long exports short..
+     */
+    @GetMapping("/api/messages/{roomId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    public void exportMessages(@PathVariable String roomId, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        String fileName = roomId.replaceAll("[^A-Za-z0-9._-]", "_") + ".ndjson";
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        messageService.exportHistory(roomId, response.getOutputStream());
     }
 }
@@ -0,0 +1,39 @@
+package com.schat.schatapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a room's history, the (timestamp, id) of one message..
+ * Sent to clients as an opaque URL-safe string; id breaks ties between equal timestamps..
+ */
+public class MessageCursor {
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public MessageCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new MessageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                     Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("❌Error: Invalid message cursor..", e);
+        }
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Long getId() { return id; }
+}
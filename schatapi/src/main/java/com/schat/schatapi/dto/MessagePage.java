@@ -0,0 +1,37 @@
+package com.schat.schatapi.dto;
+
+import java.util.List;
+
+/**
+ * One page of room history, oldest message first..
+ * before: cursor for the next older page (null once the start of the room is reached),
+ * after: cursor of the newest message here, to poll for newer ones..
+ */
+public class MessagePage<T> {
+    private List<T> messages;
+    private String before;
+    private String after;
+    private boolean hasMore;
+
+    public MessagePage() {}
+
+    public MessagePage(List<T> messages, String before, String after, boolean hasMore) {
+        this.messages = messages;
+        this.before = before;
+        this.after = after;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters..
+    public List<T> getMessages() { return messages; }
+    public void setMessages(List<T> messages) { this.messages = messages; }
+
+    public String getBefore() { return before; }
+    public void setBefore(String before) { this.before = before; }
+
+    public String getAfter() { return after; }
+    public void setAfter(String after) { this.after = after; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
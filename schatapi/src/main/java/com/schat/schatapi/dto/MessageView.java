@@ -0,0 +1,55 @@
+package com.schat.schatapi.dto;
+
+import com.schat.schatapi.model.Message;
+
+import java.time.LocalDateTime;
+
+/**
+ * What clients see of a message: the sender is reduced to id and username..
+ * History queries select it directly (constructor expression), so no User entity is loaded
+ * and nothing like a password hash or role set ends up in the JSON..
+ */
+public class MessageView {
+    private Long id;
+    private String roomId;
+    private String content;
+    private LocalDateTime timestamp;
+    private Long senderId;
+    private String senderUsername;
+
+    public MessageView() {}
+
+    public MessageView(Long id, String roomId, String content, LocalDateTime timestamp,
+                       Long senderId, String senderUsername) {
+        this.id = id;
+        this.roomId = roomId;
+        this.content = content;
+        this.timestamp = timestamp;
+        this.senderId = senderId;
+        this.senderUsername = senderUsername;
+    }
+
+    public static MessageView from(Message message) {
+        return new MessageView(message.getId(), message.getRoomId(), message.getContent(),
+            message.getTimestamp(), message.getSender().getId(), message.getSender().getUsername());
+    }
+
+    // Getters and Setters..
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Long getSenderId() { return senderId; }
+    public void setSenderId(Long senderId) { this.senderId = senderId; }
+
+    public String getSenderUsername() { return senderUsername; }
+    public void setSenderUsername(String senderUsername) { this.senderUsername = senderUsername; }
+}
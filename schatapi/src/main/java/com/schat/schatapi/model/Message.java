@@ -5,19 +5,23 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages",
+       indexes = @Index(name = "idx_messages_room_timestamp_id", columnList = "room_id, timestamp, id"))
 @Data
 public class Message {
-    @Id@GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Assigned from message_id_seq by MessageIdAllocator before the message is broadcast..
+    @Id
     private Long id;
 
-    @ManyToOne
+    // Lazy: reads go through MessageView or fetch the sender explicitly..
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
 
     @Column(nullable = false)
     private String content;
 
+    @Column(name = "room_id")
     private String roomId;
 
     private LocalDateTime timestamp = LocalDateTime.now();
@@ -50,6 +50,10 @@ public class User {
     @Column(name = "party_index")
     private Integer partyIndex;
 
+    // Bumped whenever tokens issued so far must stop working (password/email change, deactivation)..
+    @Column(name = "status_version")
+    private Long statusVersion = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -97,4 +101,12 @@ public class User {
 
     public Integer getPartyIndex() { return partyIndex; }
     public void setPartyIndex(Integer partyIndex) { this.partyIndex = partyIndex; }
+
+    public long getStatusVersion() { return statusVersion == null ? 0L : statusVersion; }
+    public void setStatusVersion(Long statusVersion) { this.statusVersion = statusVersion; }
+
+    public long bumpStatusVersion() {
+        statusVersion = getStatusVersion() + 1;
+        return statusVersion;
+    }
 }
@@ -1,12 +1,46 @@
 package com.schat.schatapi.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.schat.schatapi.dto.MessageView;
 import com.schat.schatapi.model.Message;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByRoomIdOrderByTimestampAsc(String roomId);
+    // Keyset pages over the (room_id, timestamp, id) index, size given by the Pageable,
+    // selected straight into MessageView with the sender's id and username joined in..
+    String VIEW = "select new com.schat.schatapi.dto.MessageView("
+                + "m.id, m.roomId, m.content, m.timestamp, s.id, s.username) "
+                + "from Message m join m.sender s where m.roomId = :roomId ";
 
+    @Query(VIEW + "order by m.timestamp desc, m.id desc")
+    List<MessageView> findLatest(@Param("roomId") String roomId, Pageable page);
+
+    @Query(VIEW + "and (m.timestamp < :timestamp or (m.timestamp = :timestamp and m.id < :id)) "
+         + "order by m.timestamp desc, m.id desc")
+    List<MessageView> findBefore(@Param("roomId") String roomId, @Param("timestamp") LocalDateTime timestamp,
+                                 @Param("id") Long id, Pageable page);
+
+    @Query(VIEW + "and (m.timestamp > :timestamp or (m.timestamp = :timestamp and m.id > :id)) "
+         + "order by m.timestamp asc, m.id asc")
+    List<MessageView> findAfter(@Param("roomId") String roomId, @Param("timestamp") LocalDateTime timestamp,
+                                @Param("id") Long id, Pageable page);
+
+    // Forward-only cursor over a whole room; needs a (read-only) transaction for the fetch size to apply..
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select m from Message m join fetch m.sender where m.roomId = :roomId "
+         + "order by m.timestamp asc, m.id asc")
+    Stream<Message> streamByRoomId(@Param("roomId") String roomId);
 }
@@ -4,14 +4,32 @@ import com.schat.schatapi.model.RefreshToken;
 import com.schat.schatapi.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    // User and roles fetched along, the result outlives the request in RefreshTokenService's cache..
+    @Query("select t from RefreshToken t join fetch t.user u left join fetch u.roles where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("select t.tokenHash from RefreshToken t where t.user.id = :userId")
+    List<String> findTokenHashesByUserId(@Param("userId") Long userId);
 
     @Modifying
     void deleteByUser(User user);
+
+    // One bounded batch of expired rows, over idx_refresh_tokens_expiry_date..
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_tokens where id in "
+                 + "(select id from refresh_tokens where expiry_date < :now limit :batchSize)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
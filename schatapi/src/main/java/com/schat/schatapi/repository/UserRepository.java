@@ -2,8 +2,10 @@ package com.schat.schatapi.repository;
 
 import com.schat.schatapi.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +13,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // (id, statusVersion) of every user whose earlier tokens were invalidated..
+    @Query("select u.id, u.statusVersion from User u where u.statusVersion > 0")
+    List<Object[]> findStatusVersions();
 }
@@ -0,0 +1,96 @@
+package com.schat.schatapi.security;
+
+import com.schat.schatapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current account-status version of users whose older tokens were invalidated..
+ * Tokens carry the version they were issued with ("sv" claim); a token is still good when
+ * its version is at least the one known here. Only bumped users are tracked, loaded at startup
+ * and updated by UserService, so the check never reaches the database. With
+ * schat.chat.redis.enabled each bump is published on schat:account-status ("userId:version")
+ * for the other nodes, and every node reloads from the database every reloadMs in case it
+ * missed a message..
+ */
+@Component
+public class AccountStatusRegistry implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatusRegistry.class);
+
+    public static final String STATUS_CHANNEL = "schat:account-status";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${schat.chat.redis.enabled:false}")
+    private boolean shared;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+        logger.info("✓ Loaded account-status versions for {} user(s)..", versions.size());
+    }
+
+    public boolean isCurrent(Long userId, long tokenStatusVersion) {
+        Long current = versions.get(userId);
+        return current == null || tokenStatusVersion >= current;
+    }
+
+    /**
+     * Records a bump made on this node and tells the other nodes about it..
+     */
+    public void update(Long userId, long statusVersion) {
+        versions.merge(userId, statusVersion, Math::max);
+        if (shared) {
+            try {
+                redisTemplate.convertAndSend(STATUS_CHANNEL, userId + ":" + statusVersion);
+            } catch (Exception e) {
+                // Other nodes catch up at their next reload..
+                logger.warn("⚠️ Could not publish account-status version of user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A bump made on another node..
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            versions.merge(Long.parseLong(body.substring(0, separator)),
+                Long.parseLong(body.substring(separator + 1)), Math::max);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Ignoring malformed account-status message: {}", body);
+        }
+    }
+
+    /**
+     * Versions only grow, so merging what the database holds never undoes a newer bump..
+     */
+    @Scheduled(fixedDelayString = "${schat.security.accountStatus.reloadMs:300000}",
+               initialDelayString = "${schat.security.accountStatus.reloadMs:300000}")
+    public void reload() {
+        for (Object[] row : userRepository.findStatusVersions()) {
+            versions.merge(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), Math::max);
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.schat.schatapi.security;
 
-import com.schat.schatapi.service.UserDetailsServiceImpl;
-import com.schat.schatapi.service.ThresholdTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,13 +29,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     }
     
     @Autowired
-    private JwtUtils jwtUtils;
-
-    @Autowired
-    private UserDetailsServiceImpl userDetailsService;
-    
-    @Autowired
-    private ThresholdTokenService thresholdTokenService;
+    private TokenAuthenticator tokenAuthenticator;
     
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     
@@ -55,31 +48,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             if (token != null && token.contains("::")) {
                 logger.debug("🔐 Validating threshold-signed token");
                 
-                // Step 1: Verify threshold signature (PRIMARY authentication)
-                boolean signatureValid = thresholdTokenService.verifyTokenSignature(token);
-                
-                if (!signatureValid) {
-                    logger.error("❌ Threshold signature verification FAILED..");
+                UserDetails userDetails;
+                try {
+                    userDetails = tokenAuthenticator.authenticate(token);
+                } catch (BadCredentialsException e) {
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("{\"error\":\"❌ Invalid threshold signature..\"}");
+                    response.getWriter().write("{\"error\":\"" + e.getMessage() + "\"}");
                     return;  // Reject request
                 }
-                
-                logger.debug("✅ Threshold signature verified");
-                
-                // Step 2: Validate JWT structure and expiration
-                if (!jwtUtils.validateJwtStructure(token)) {
-                    logger.error("❌ JWT structure validation failed");
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("{\"error\":\"Invalid token structure\"}");
-                    return;
-                }
-                
-                logger.debug("✅ JWT structure validated");
-                
-                // Step 3: Extract username and set authentication
-                String username = jwtUtils.getUserNameFromJwtToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                String username = userDetails.getUsername();
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(
@@ -1,8 +1,8 @@
 package com.schat.schatapi.security;
 
 import com.schat.schatapi.service.ThresholdTokenService;
+import com.schat.schatapi.service.TokenIssuanceBatcher;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,17 +11,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.security.core.Authentication;
 import com.schat.schatapi.service.UserDetailsImpl;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${schat.app.jwtSecret}")
-    private String jwtSecret;
-
     @Value("${schat.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
@@ -31,11 +27,12 @@ public class JwtUtils {
     @Autowired
     private ThresholdTokenService thresholdTokenService;
 
-    private SecretKey getSigningKey() {
-        // Creating a proper SecretKey from the secret string..
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    @Autowired
+    private TokenIssuanceBatcher tokenIssuanceBatcher;
+
+    // Pre-built HMAC keys by kid and the shared parser..
+    @Autowired
+    private SigningKeyRegistry signingKeyRegistry;
     
     /**
      * Generate UNSIGNED JWT (header.payload only, no signature)
@@ -50,8 +47,10 @@ public class JwtUtils {
         // Build JWT without signing it
         String unsignedJwt = Jwts.builder()
             .setSubject(userPrincipal.getUsername())
-            .claim("email", userPrincipal.getEmail())
-            .claim("id", userPrincipal.getId())
+            .claim(UserDetailsImpl.CLAIM_EMAIL, userPrincipal.getEmail())
+            .claim(UserDetailsImpl.CLAIM_ID, userPrincipal.getId())
+            .claim(UserDetailsImpl.CLAIM_ROLES, userPrincipal.getRoleNames())
+            .claim(UserDetailsImpl.CLAIM_STATUS_VERSION, userPrincipal.getStatusVersion())
             .setIssuedAt(now)
             .setExpiration(expiryDate)
             .compact();  // This creates header.payload (no signature)
@@ -62,35 +61,67 @@ public class JwtUtils {
     
     public String generateJwtToken(String username) {
       try {
+        return generateJwtTokenAsync(username).join();
+      } catch(Exception e) {
+        logger.error("❌JWT generation failed: {}", e.getMessage(), e);
+        throw new RuntimeException("Token signing failed: " + e.getMessage(), e);
+      }
+    }
+
+    /**
+     * Same as generateJwtToken, the threshold signing completing on the crypto pool..
+     */
+    public CompletableFuture<String> generateJwtTokenAsync(String username) {
         logger.info("Starting JWT generation for user: {}", username);
-        
+
         // Using threshold signature to sign the token..
+        SigningKeyRegistry.SigningKey signingKey = signingKeyRegistry.activeKey();
         String unsignedToken = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey.getKey())
                 .compact();
-        
+
         logger.info("Unsigned token created successfully");
         logger.debug("Unsigned token: {}", unsignedToken);
-        
-        String signedToken = thresholdTokenService.signToken(unsignedToken);
-        logger.info("Token signed successfully with threshold signature");
-        
-        return signedToken;
-      } catch(Exception e) {
-        logger.error("❌JWT generation failed: {}", e.getMessage(), e);
-        throw new RuntimeException("Token signing failed: " + e.getMessage(), e);
-      }
+
+        return tokenIssuanceBatcher.submit(unsignedToken)
+            .thenApply(signedToken -> {
+                logger.info("Token signed successfully with threshold signature");
+                return signedToken;
+            });
+    }
+
+    /**
+     * Token for an already loaded user, carrying the same principal claims as a login token..
+     */
+    public CompletableFuture<String> generateJwtTokenAsync(UserDetailsImpl user) {
+        SigningKeyRegistry.SigningKey signingKey = signingKeyRegistry.activeKey();
+        String unsignedToken = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
+                .subject(user.getUsername())
+                .claim(UserDetailsImpl.CLAIM_EMAIL, user.getEmail())
+                .claim(UserDetailsImpl.CLAIM_ID, user.getId())
+                .claim(UserDetailsImpl.CLAIM_ROLES, user.getRoleNames())
+                .claim(UserDetailsImpl.CLAIM_STATUS_VERSION, user.getStatusVersion())
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .signWith(signingKey.getKey())
+                .compact();
+
+        return tokenIssuanceBatcher.submit(unsignedToken);
     }
 
     public String generateRefreshToken(String username) {
+        SigningKeyRegistry.SigningKey signingKey = signingKeyRegistry.activeKey();
         String unsignedToken = Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtRefreshExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey.getKey())
                 .compact();
         
         return thresholdTokenService.signToken(unsignedToken);
@@ -121,10 +152,7 @@ public class JwtUtils {
             logger.debug("Unsigned token preview: {}...", unsignedToken.substring(0, Math.min(50, unsignedToken.length())));
         
             // Then validating JWT structure..
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(unsignedToken);
+            signingKeyRegistry.parser().parseSignedClaims(unsignedToken);
         
             logger.info("=== JWT Validation: SUCCESS ✓✓✓ ===");
             return true;
@@ -148,16 +176,9 @@ public class JwtUtils {
      * Extract username from token (works with both signed and unsigned)
      */
     public String getUserNameFromJwtToken(String token) {
-        // Remove threshold signature if present
-        String jwtPart = token.split("::")[0];
-        
-        logger.info("⚠️ Extracting username from token...");
-        // Parsing without validation (we'll validate via threshold signature)..
-        return Jwts.parser()
-            .build()
-            .parseClaimsJwt(jwtPart)  // Use parseClaimsJwt for unsigned tokens..
-            .getBody()
-            .getSubject();
+        logger.debug("Extracting username from token...");
+        // Threshold signature is checked by the caller (AuthTokenFilter)..
+        return parseToken(token).getSubject();
         
         /*/ Verifying threshold signature before extracting claims..
         if (!thresholdTokenService.verifyTokenSignature(token)) {
@@ -184,12 +205,14 @@ public class JwtUtils {
      * Getting all claims from token..
      */
     public Claims getClaimsFromToken(String token) {
-        String jwtPart = token.split("::")[0];
-        
-        return Jwts.parser()
-            .build()
-            .parseClaimsJwt(jwtPart)
-            .getBody();
+        return parseToken(token).getClaims();
+    }
+
+    /**
+     * Splitting, decoding and parsing a raw token once, see ParsedToken..
+     */
+    public ParsedToken parseToken(String token) {
+        return ParsedToken.parse(token, signingKeyRegistry.parser());
     }
     
     /**
@@ -197,9 +220,7 @@ public class JwtUtils {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = getClaimsFromToken(token);
-            Date expiration = claims.getExpiration();
-            return expiration.before(new Date());
+            return parseToken(token).isExpired();
         } catch (Exception e) {
             logger.error("Error checking token expiration: {}", e.getMessage());
             return true;
@@ -211,25 +232,7 @@ public class JwtUtils {
      */
     public boolean validateJwtStructure(String token) {
         try {
-            String jwtPart = token.split("::")[0];
-            
-            // Checking basic JWT structure..
-            String[] parts = jwtPart.split("\\.");
-            if (parts.length != 2 && parts.length != 3) {
-                logger.warn("⚠️ Invalid JWT structure: expected 2-3 parts, got {}", parts.length);
-                return false;
-            }
-
-            // Parsing claims..
-            Claims claims = getClaimsFromToken(token);
-            
-            // Checking expiration
-            if (isTokenExpired(token)) {
-                logger.warn("❌ JWT token is expired");
-                return false;
-            }
-
-            return true;
+            return validateJwtStructure(parseToken(token));
         } catch (MalformedJwtException e) {
             logger.error("❌ Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -238,7 +241,21 @@ public class JwtUtils {
             logger.error("❌JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("❌ JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("❌ JWT token rejected: {}", e.getMessage());
         }
         return false;
     }
+
+    /**
+     * Validate an already parsed token: the parser has checked the structure,
+     * only the expiration is left (a token without exp is rejected)..
+     */
+    public boolean validateJwtStructure(ParsedToken token) {
+        if (token.isExpired()) {
+            logger.warn("❌ JWT token is expired");
+            return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,78 @@
+package com.schat.schatapi.security;
+
+import com.schat.signature.core.SDithSignature;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * A "header.payload::signature" token taken apart once per request..
+ * Holds the JWT part (the bytes the threshold signature covers), the decoded SDitH
+ * signature and the claims, so the filter, JwtUtils and ThresholdTokenService
+ * no longer split, decode and parse the same header each on their own..
+ */
+public final class ParsedToken {
+    private static final String SEPARATOR = "::";
+
+    private final String jwt;
+    private final byte[] signedBytes;
+    private final SDithSignature signature;
+    private final Claims claims;
+
+    private ParsedToken(String jwt, SDithSignature signature, Claims claims) {
+        this.jwt = jwt;
+        this.signedBytes = jwt.getBytes(StandardCharsets.UTF_8);
+        this.signature = signature;
+        this.claims = claims;
+    }
+
+    /**
+     * Splits, decodes and parses a raw token with the given (shared, thread-safe) parser..
+     * A token without "::" gets a null signature; an expired, malformed or wrongly
+     * signed JWT fails with the parser's JwtException..
+     */
+    public static ParsedToken parse(String rawToken, JwtParser parser) {
+        int separator = rawToken.indexOf(SEPARATOR);
+        String jwt = separator < 0 ? rawToken : rawToken.substring(0, separator);
+
+        SDithSignature signature = null;
+        if (separator >= 0) {
+            byte[] signatureBytes = Base64.getDecoder().decode(
+                rawToken.substring(separator + SEPARATOR.length()));
+            signature = SDithSignature.fromBytes(signatureBytes);
+        }
+
+        Object payload = parser.parse(jwt).getPayload();
+        if (!(payload instanceof Claims)) {
+            throw new MalformedJwtException("❌ JWT payload is not a claims set..");
+        }
+        return new ParsedToken(jwt, signature, (Claims) payload);
+    }
+
+    // Getters..
+    public String getJwt() { return jwt; }
+    public byte[] getSignedBytes() { return signedBytes; }
+    public SDithSignature getSignature() { return signature; }
+    public Claims getClaims() { return claims; }
+
+    public boolean hasThresholdSignature() {
+        return signature != null;
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
+    }
+}
@@ -0,0 +1,259 @@
+package com.schat.schatapi.security;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HMAC keys for the JWT part of our tokens, indexed by kid..
+ * Keys are built once and published as an immutable KeySet through an AtomicReference,
+ * so issuing and validation threads only do a volatile read. Rotation swaps in a new set:
+ * new tokens carry the new kid, the previous key keeps validating until every token it
+ * signed has expired (jwtRefreshExpirationMs). Tokens without a kid resolve to defaultKid..
+ *
+ * A rotated key is never random: it is HMAC-SHA256(jwtSecret, kid), so every node holding the
+ * configuration derives the same key from the kid alone. Which kids are active and accepted is
+ * the only state; it lives in Redis (hash schat:signing-keys, kid -> accept-until millis, plus
+ * the active kid) and each rotation is announced on the schat:signing-keys channel, so it
+ * survives restarts and reaches every node. Without schat.chat.redis.enabled there is nowhere
+ * to keep that state and rotation is by configuration only (jwtSecret plus jwtRetiredKeys)..
+ */
+@Component
+public class SigningKeyRegistry implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRegistry.class);
+
+    public static final String ROTATION_CHANNEL = "schat:signing-keys";
+    private static final String STATE_KEY = "schat:signing-keys";
+    private static final String ACTIVE_FIELD = "active";
+    private static final String DERIVATION_LABEL = "schat-jwt-key:";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${schat.chat.redis.enabled:false}")
+    private boolean shared;
+
+    @Value("${schat.app.jwtSecret}")
+    private String jwtSecret;
+
+    @Value("${schat.app.jwtKeyId:default}")
+    private String defaultKid;
+
+    // Keys still accepted after a restart-based rotation, as "kid=secret" pairs..
+    @Value("${schat.app.jwtRetiredKeys:}")
+    private String retiredKeys;
+
+    @Value("${schat.app.jwtRefreshExpirationMs}")
+    private long jwtRefreshExpirationMs;
+
+    private final AtomicReference<KeySet> keySet = new AtomicReference<>();
+    // Keys from configuration alone, what every node starts from..
+    private Map<String, SigningKey> configuredKeys;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        long retireAt = System.currentTimeMillis() + jwtRefreshExpirationMs;
+        Map<String, SigningKey> keys = new HashMap<>();
+        for (String entry : retiredKeys.split(",")) {
+            String[] kidAndSecret = entry.trim().split("=", 2);
+            if (kidAndSecret.length == 2) {
+                keys.put(kidAndSecret[0], new SigningKey(kidAndSecret[0], hmacKey(kidAndSecret[1]), retireAt));
+            }
+        }
+        keys.put(defaultKid, new SigningKey(defaultKid, hmacKey(jwtSecret), Long.MAX_VALUE));
+        configuredKeys = Collections.unmodifiableMap(keys);
+        keySet.set(new KeySet(defaultKid, keys));
+        if (shared) {
+            try {
+                loadShared();
+            } catch (Exception e) {
+                logger.warn("⚠️ Could not load rotated signing keys from Redis: {}", e.getMessage());
+            }
+        }
+
+        // One parser for every kid, the key being looked up per token..
+        parser = Jwts.parser()
+            .unsecured()
+            .keyLocator(this::locateKey)
+            .build();
+
+        logger.info("✓ Signing key registry ready: active kid '{}', {} key(s) accepted..",
+            keySet.get().activeKid, keySet.get().keys.size());
+    }
+
+    /**
+     * The key new tokens are signed with..
+     */
+    public SigningKey activeKey() {
+        KeySet current = keySet.get();
+        return current.keys.get(current.activeKid);
+    }
+
+    /**
+     * Shared, thread-safe parser resolving the verification key from the token's kid..
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Issues with a new derived key on every node from now on; the previous one stays valid for
+     * verification until the tokens it signed have expired..
+     */
+    public SigningKey rotate() {
+        if (!shared) {
+            throw new IllegalStateException("❌ Runtime rotation needs schat.chat.redis.enabled; "
+                + "rotate schat.app.jwtSecret and list the old one in schat.app.jwtRetiredKeys instead..");
+        }
+        long now = System.currentTimeMillis();
+        String kid = UUID.randomUUID().toString();
+        Map<String, String> state = redisTemplate.<String, String>opsForHash().entries(STATE_KEY);
+        String previous = state.getOrDefault(ACTIVE_FIELD, defaultKid);
+
+        Map<String, String> update = new HashMap<>();
+        update.put(previous, Long.toString(now + jwtRefreshExpirationMs));
+        update.put(kid, Long.toString(Long.MAX_VALUE));
+        update.put(ACTIVE_FIELD, kid);
+        redisTemplate.<String, String>opsForHash().putAll(STATE_KEY, update);
+        redisTemplate.convertAndSend(ROTATION_CHANNEL, kid);
+
+        loadShared();
+        logger.info("✓ Signing key rotated to kid '{}', {} key(s) accepted..", kid, keySet.get().keys.size());
+        return activeKey();
+    }
+
+    /**
+     * A rotation made on another node..
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            loadShared();
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not reload signing keys after a rotation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the key set from configuration plus the shared rotation state..
+     */
+    private void loadShared() {
+        Map<String, String> state = redisTemplate.<String, String>opsForHash().entries(STATE_KEY);
+        long now = System.currentTimeMillis();
+        Map<String, SigningKey> keys = new HashMap<>(configuredKeys);
+        for (Map.Entry<String, String> entry : state.entrySet()) {
+            String kid = entry.getKey();
+            if (ACTIVE_FIELD.equals(kid)) {
+                continue;
+            }
+            long acceptUntil = Long.parseLong(entry.getValue());
+            if (acceptUntil <= now) {
+                keys.remove(kid);
+                continue;
+            }
+            SigningKey configured = configuredKeys.get(kid);
+            SecretKey key = configured != null ? configured.key : derivedKey(kid);
+            keys.put(kid, new SigningKey(kid, key, acceptUntil));
+        }
+        String activeKid = state.getOrDefault(ACTIVE_FIELD, defaultKid);
+        if (!keys.containsKey(activeKid)) {
+            logger.warn("⚠️ Shared active kid '{}' is not usable, staying on '{}'..", activeKid, defaultKid);
+            activeKid = defaultKid;
+            keys.put(defaultKid, configuredKeys.get(defaultKid));
+        }
+        keySet.set(new KeySet(activeKid, keys));
+    }
+
+    private SecretKey derivedKey(String kid) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Keys.hmacShaKeyFor(mac.doFinal((DERIVATION_LABEL + kid).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public List<String> acceptedKeyIds() {
+        long now = System.currentTimeMillis();
+        List<String> kids = new ArrayList<>();
+        for (SigningKey key : keySet.get().keys.values()) {
+            if (key.acceptUntilMillis > now) {
+                kids.add(key.kid);
+            }
+        }
+        return kids;
+    }
+
+    private Key locateKey(Header header) {
+        String kid = header instanceof ProtectedHeader ? ((ProtectedHeader) header).getKeyId() : null;
+        SigningKey key = keySet.get().keys.get(kid != null ? kid : defaultKid);
+        if (key == null || key.acceptUntilMillis <= System.currentTimeMillis()) {
+            throw new JwtException("❌ Unknown or retired signing key id: " + kid);
+        }
+        return key.key;
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * One HMAC key with its kid; acceptUntilMillis is Long.MAX_VALUE until it gets rotated out..
+     */
+    public static final class SigningKey {
+        private final String kid;
+        private final SecretKey key;
+        private final long acceptUntilMillis;
+
+        SigningKey(String kid, SecretKey key, long acceptUntilMillis) {
+            this.kid = kid;
+            this.key = key;
+            this.acceptUntilMillis = acceptUntilMillis;
+        }
+
+        public String getKid() { return kid; }
+        public SecretKey getKey() { return key; }
+        public long getAcceptUntilMillis() { return acceptUntilMillis; }
+    }
+
+    /**
+     * Immutable snapshot swapped as a whole on rotation..
+     */
+    private static final class KeySet {
+        final String activeKid;
+        final Map<String, SigningKey> keys;
+
+        KeySet(String activeKid, Map<String, SigningKey> keys) {
+            this.activeKid = activeKid;
+            this.keys = Collections.unmodifiableMap(keys);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.schat.schatapi.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP CONNECT frames with the same Bearer token as the REST API..
+ * Browsers can't set headers on the WebSocket handshake, so the token travels as the
+ * "Authorization" native header of CONNECT; the resulting user sticks to the session..
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    @Autowired
+    private TokenAuthenticator tokenAuthenticator;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            throw new BadCredentialsException("Missing Bearer token on CONNECT");
+        }
+
+        UserDetails userDetails = tokenAuthenticator.authenticate(header.substring(7));
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+            userDetails, null, userDetails.getAuthorities()));
+        logger.debug("✅ STOMP session of '{}' authenticated", userDetails.getUsername());
+        return message;
+    }
+}
@@ -0,0 +1,96 @@
+package com.schat.schatapi.security;
+
+import com.schat.schatapi.service.CachingUserDetailsService;
+import com.schat.schatapi.service.ThresholdTokenService;
+import com.schat.schatapi.service.TokenBlacklistService;
+import com.schat.schatapi.service.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Threshold-signed token to principal, shared by AuthTokenFilter (HTTP) and the STOMP
+ * CONNECT interceptor (WebSocket)..
+ * Failures are BadCredentialsException whose message is the client-facing error..
+ */
+@Component
+public class TokenAuthenticator {
+    private static final Logger logger = LoggerFactory.getLogger(TokenAuthenticator.class);
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private CachingUserDetailsService userDetailsService;
+
+    @Autowired
+    private ThresholdTokenService thresholdTokenService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private AccountStatusRegistry accountStatusRegistry;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    public UserDetails authenticate(String token) {
+        // One hash of the token keys both the verified-token cache and the revocation check..
+        byte[] tokenHash = VerifiedTokenCache.sha256(token);
+
+        // Steps 1-3 are skipped for a token that already passed them..
+        ParsedToken parsed = verifiedTokenCache.getVerified(tokenHash);
+        if (parsed != null) {
+            logger.debug("✓ Token found in verified-token cache");
+        } else {
+            // Step 1: Split, decode and parse the token once for all the checks below
+            try {
+                parsed = jwtUtils.parseToken(token);
+            } catch (Exception e) {
+                logger.error("❌ Token parsing failed: {}", e.getMessage());
+                throw new BadCredentialsException("Invalid token structure");
+            }
+
+            // Step 2: Verify threshold signature (PRIMARY authentication)
+            if (!thresholdTokenService.verifyTokenSignature(parsed)) {
+                logger.error("❌ Threshold signature verification FAILED..");
+                throw new BadCredentialsException("❌ Invalid threshold signature..");
+            }
+
+            logger.debug("✅ Threshold signature verified");
+
+            // Step 3: Validate expiration
+            if (!jwtUtils.validateJwtStructure(parsed)) {
+                logger.error("❌ JWT structure validation failed");
+                throw new BadCredentialsException("Invalid token structure");
+            }
+
+            logger.debug("✅ JWT structure validated");
+
+            verifiedTokenCache.recordVerified(tokenHash, parsed);
+        }
+
+        // Revoked on logout: a bloom-filter lookup for almost every token, cached or not..
+        if (tokenBlacklistService.isRevoked(tokenHash)) {
+            logger.warn("❌ Token of '{}' was revoked", parsed.getSubject());
+            throw new BadCredentialsException("Token revoked, please sign in again");
+        }
+
+        // Step 4: Build the principal from the claims, no database access
+        String username = parsed.getSubject();
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(parsed.getClaims());
+        if (principal == null) {
+            // Tokens issued before the roles claim existed..
+            return userDetailsService.loadUserByUsername(username);
+        }
+        if (!accountStatusRegistry.isCurrent(principal.getId(), principal.getStatusVersion())) {
+            logger.warn("❌ Token of '{}' predates an account status change", username);
+            throw new BadCredentialsException("Account changed, please sign in again");
+        }
+        return principal;
+    }
+}
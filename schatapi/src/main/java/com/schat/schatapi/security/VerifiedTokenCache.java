@@ -0,0 +1,95 @@
+package com.schat.schatapi.security;
+
+import com.schat.schatapi.cache.BoundedExpiringCache;
+import com.schat.schatapi.cache.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers tokens whose threshold signature and structure already checked out..
+ * Keyed by SHA-256 of the full signed token; the value is the ParsedToken, so a hit skips
+ * parsing as well. Each entry lives no longer than the token's exp claim (capped by maxTtlMs)..
+ * Only successful verifications are cached; a failure is always re-checked..
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    @Value("${schat.security.tokenCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schat.security.tokenCache.maxSize:100000}")
+    private int maxSize;
+
+    @Value("${schat.security.tokenCache.maxTtlMs:900000}")
+    private long maxTtlMs;
+
+    private BoundedExpiringCache<ByteBuffer, ParsedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedExpiringCache<>("verifiedTokens", maxSize);
+        logger.info("✓ Verified-token cache {} (maxSize={}, maxTtlMs={})..",
+            enabled ? "enabled" : "disabled", maxSize, maxTtlMs);
+    }
+
+    /**
+     * The parsed token if the token hashing to tokenHash (see sha256) was verified earlier and
+     * has not expired since, else null..
+     */
+    public ParsedToken getVerified(byte[] tokenHash) {
+        return enabled ? cache.get(ByteBuffer.wrap(tokenHash)) : null;
+    }
+
+    /**
+     * Records a successful verification, valid until the token's expiration..
+     */
+    public void recordVerified(byte[] tokenHash, ParsedToken parsed) {
+        if (!enabled || parsed.getExpiration() == null) {
+            return;
+        }
+        long expiry = Math.min(parsed.getExpiration().getTime(), System.currentTimeMillis() + maxTtlMs);
+        cache.put(ByteBuffer.wrap(tokenHash), parsed, expiry);
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(key(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(sha256(token));
+    }
+
+    /**
+     * SHA-256 of the full signed token, also the identity TokenBlacklistService uses..
+     */
+    public static byte[] sha256(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,6 @@
 package com.schat.schatapi.security;
 
-import com.schat.schatapi.service.UserDetailsServiceImpl;
+import com.schat.schatapi.service.CachingUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,7 +22,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class WebSecurityConfig {
     
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachingUserDetailsService userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
@@ -62,7 +62,8 @@ public class WebSecurityConfig {
                                 "/api/auth/register", 
                                 "/api/auth/login", 
                                 "/api/auth/refreshtoken",
-                                "/api/test/**").permitAll()
+                                "/api/test/**",
+                                "/ws/**").permitAll()  // STOMP CONNECT is authenticated by StompAuthChannelInterceptor..
                 .requestMatchers(
                               "/api/auth/logout",
                               "/api/user/**").authenticated()
@@ -4,7 +4,9 @@ import com.schat.schatapi.dto.JwtResponse;
 import com.schat.schatapi.model.RefreshToken;
 import com.schat.schatapi.model.User;
 import com.schat.schatapi.repository.UserRepository;
+import com.schat.schatapi.security.AccountStatusRegistry;
 import com.schat.schatapi.security.JwtUtils;
+import com.schat.schatapi.security.ParsedToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,7 +29,7 @@ public class AuthService {
     private AuthenticationManager authenticationManager;
     
     @Autowired
-    private ThresholdTokenService thresholdTokenService;
+    private TokenIssuanceBatcher tokenIssuanceBatcher;
     
     @Autowired
     private UserRepository userRepository;
@@ -40,7 +43,17 @@ public class AuthService {
     @Autowired
     private RefreshTokenService refreshTokenService;
 
-    public JwtResponse authenticateUser(String username, String password) {
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private AccountStatusRegistry accountStatusRegistry;
+
+    /**
+     * Authentication and refresh token creation run on the caller's thread,
+     * the threshold signing completes the returned future on the crypto pool..
+     */
+    public CompletableFuture<JwtResponse> authenticateUser(String username, String password) {
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(username, password)
@@ -50,9 +63,6 @@ public class AuthService {
 
         // Generate UNSIGNED JWT (header.payload only)
         String unsignedJwt = jwtUtils.generateUnsignedJwtToken(authentication);
-        
-        // Sign with threshold signature: header.payload::threshold_signature
-        String signedToken = thresholdTokenService.signToken(unsignedJwt);
 
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         List<String> roles = userDetails.getAuthorities().stream()
@@ -60,17 +70,18 @@ public class AuthService {
             .collect(Collectors.toList());
 
         // Generate refresh token
-        String refreshToken = refreshTokenService.createRefreshToken(userDetails.getId())
-            .getToken();
-
-        return new JwtResponse(
-            signedToken,  // Returns: header.payload::threshold_signature
-            userDetails.getId(),
-            userDetails.getUsername(),
-            userDetails.getEmail(),
-            roles,
-            refreshToken
-        );
+        String refreshToken = refreshTokenService.createRefreshToken(userDetails.getId());
+
+        // Sign with threshold signature: header.payload::threshold_signature
+        return tokenIssuanceBatcher.submit(unsignedJwt)
+            .thenApply(signedToken -> new JwtResponse(
+                signedToken,  // Returns: header.payload::threshold_signature
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles,
+                refreshToken
+            ));
     }
 
 
@@ -95,23 +106,44 @@ public class AuthService {
         return user;
     }
 
-    public JwtResponse refreshToken(String requestRefreshToken) {
-        return refreshTokenService.findByToken(requestRefreshToken)
+    /**
+     * A new access token for a live refresh token, unless the account was deactivated or its
+     * status version bumped since the (possibly cached) user was loaded..
+     */
+    public CompletableFuture<JwtResponse> refreshToken(String requestRefreshToken) {
+        User user = refreshTokenService.findByToken(requestRefreshToken)
             .map(refreshTokenService::verifyExpiration)
             .map(RefreshToken::getUser)
-            .map(user -> {
-                String token = jwtUtils.generateJwtToken(user.getUsername());
-                return new JwtResponse(token, user.getId(), user.getUsername(),
-                                     user.getEmail(), List.of("ROLE_USER"),
-                                     requestRefreshToken);
-            })
             .orElseThrow(() -> new RuntimeException("Refresh token is not in database!"));
+
+        if (Boolean.FALSE.equals(user.getActive())
+                || !accountStatusRegistry.isCurrent(user.getId(), user.getStatusVersion())) {
+            refreshTokenService.deleteByUserId(user.getId());
+            throw new RuntimeException("❌Error: Account is no longer active, please sign in again..");
+        }
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        return jwtUtils.generateJwtTokenAsync(userDetails)
+            .thenApply(token -> new JwtResponse(token, user.getId(), user.getUsername(),
+                                                user.getEmail(), userDetails.getRoleNames(),
+                                                requestRefreshToken));
     }
 
-    public void logoutUser() {
+    /**
+     * Drops the user's refresh tokens and revokes the access token used for the call,
+     * on every node, until it would have expired anyway..
+     */
+    public void logoutUser(String accessToken) {
         UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext()
             .getAuthentication().getPrincipal();
         Long userId = userDetails.getId();
         refreshTokenService.deleteByUserId(userId);
+
+        if (accessToken != null) {
+            ParsedToken parsed = jwtUtils.parseToken(accessToken);
+            if (parsed.getExpiration() != null) {
+                tokenBlacklistService.revoke(accessToken, parsed.getExpiration().getTime());
+            }
+        }
     }
 }
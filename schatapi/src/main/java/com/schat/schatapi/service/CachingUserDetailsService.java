@@ -0,0 +1,62 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.cache.BoundedExpiringCache;
+import com.schat.schatapi.cache.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * UserDetailsServiceImpl behind a bounded, TTL'd cache keyed by username..
+ * UserService evicts a user whenever email, password or the active flag change, the TTL
+ * only bounding staleness for changes made outside this instance. Unknown usernames
+ * are not cached..
+ */
+@Service
+public class CachingUserDetailsService implements UserDetailsService {
+    private static final Logger logger = LoggerFactory.getLogger(CachingUserDetailsService.class);
+
+    @Autowired
+    private UserDetailsServiceImpl delegate;
+
+    @Value("${schat.security.userCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schat.security.userCache.maxSize:10000}")
+    private int maxSize;
+
+    @Value("${schat.security.userCache.ttlMs:300000}")
+    private long ttlMs;
+
+    private BoundedExpiringCache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedExpiringCache<>("userDetails", maxSize);
+        logger.info("✓ UserDetails cache {} (maxSize={}, ttlMs={})..",
+            enabled ? "enabled" : "disabled", maxSize, ttlMs);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return delegate.loadUserByUsername(username);
+        }
+        return cache.getOrLoad(username, delegate::loadUserByUsername, ttlMs);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+        logger.debug("UserDetails of '{}' evicted..", username);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
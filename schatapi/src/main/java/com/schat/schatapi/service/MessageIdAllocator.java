@@ -0,0 +1,60 @@
+package com.schat.schatapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Message ids from message_id_seq, BLOCK_SIZE at a time (pooled-lo)..
+ * Each nextval reserves [value, value + BLOCK_SIZE), so an id costs one sequence round-trip
+ * per block and is known before the message reaches the database..
+ */
+@Component
+public class MessageIdAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(MessageIdAllocator.class);
+
+    static final int BLOCK_SIZE = 50;
+
+    // pg_advisory_xact_lock key serializing the start-up repositioning of every node..
+    static final long POSITION_LOCK = 0x5343686174494473L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long next;
+    private long limit;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS message_id_seq START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+        // Ids used to come from the identity column; never hand out one below what's stored..
+        // Only ever move the sequence forward, and one node at a time: during a rolling start the
+        // others are already drawing blocks, and a setval back to max(id) would hand them out again..
+        Long position = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + POSITION_LOCK + ")");
+            return jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN m.max_id > s.last_value THEN setval('message_id_seq', m.max_id, true) "
+                + "ELSE s.last_value END "
+                + "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM messages) m, "
+                + "(SELECT last_value FROM message_id_seq) s", Long.class);
+        });
+        logger.info("✓ Message id sequence positioned at {}..", position);
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            Long start = jdbcTemplate.queryForObject("SELECT nextval('message_id_seq')", Long.class);
+            next = start;
+            limit = start + BLOCK_SIZE;
+        }
+        return next++;
+    }
+}
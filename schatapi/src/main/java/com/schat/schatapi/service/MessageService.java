@@ -0,0 +1,163 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.dto.MessageCursor;
+import com.schat.schatapi.dto.MessagePage;
+import com.schat.schatapi.dto.MessageView;
+import com.schat.schatapi.model.Message;
+import com.schat.schatapi.repository.MessageRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class MessageService {
+    // Rows between persistence-context clears and flushes during an export..
+    private static final int EXPORT_BATCH_ROWS = 1000;
+
+    private static final JsonFactory EXPORT_JSON = new JsonFactory()
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageIdAllocator messageIdAllocator;
+
+    @Autowired
+    private MessageWriteBehind messageWriteBehind;
+
+    @Autowired
+    private RecentMessageBuffer recentMessageBuffer;
+
+    @Value("${schat.chat.history.defaultPageSize:50}")
+    private int defaultPageSize;
+
+    @Value("${schat.chat.history.maxPageSize:200}")
+    private int maxPageSize;
+
+    /**
+     * Gives the message its id and server time and queues it for persistence; the returned
+     * view can be broadcast right away. A client-sent timestamp is ignored, it would let a
+     * sender place messages anywhere in the room's (timestamp, id) ordering..
+     */
+    public MessageView submit(Message message) {
+        if (message.getSender() == null || message.getSender().getId() == null) {
+            throw new IllegalArgumentException("❌Error: Message sender is required..");
+        }
+        message.setId(messageIdAllocator.nextId());
+        message.setTimestamp(LocalDateTime.now());
+        MessageView view = MessageView.from(message);
+        recentMessageBuffer.append(view);
+        messageWriteBehind.submit(message);
+        return view;
+    }
+
+    /**
+     * A page of room history by keyset: the latest messages when no cursor is given,
+     * else the ones strictly before or after the cursor. One extra row is fetched
+     * to know whether more remain in that direction..
+     */
+    public MessagePage<MessageView> getHistory(String roomId, String before, String after, Integer limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("❌Error: Use either before or after, not both..");
+        }
+        int size = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<MessageView> rows;
+        boolean newestFirst;
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            rows = messageRepository.findAfter(roomId, cursor.getTimestamp(), cursor.getId(), page);
+            newestFirst = false;
+        } else if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            rows = messageRepository.findBefore(roomId, cursor.getTimestamp(), cursor.getId(), page);
+            newestFirst = true;
+        } else {
+            // Opening a room: answered from memory whenever the room's buffer can. A database
+            // page is served but not buffered, it may lack messages still in write-behind queues..
+            rows = recentMessageBuffer.latest(roomId, size + 1);
+            if (rows == null) {
+                rows = messageRepository.findLatest(roomId, page);
+            }
+            newestFirst = true;
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<MessageView> messages = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (newestFirst) {
+            Collections.reverse(messages);
+        }
+
+        // Older history remains when paging backwards with more rows, or whenever paging forwards..
+        String beforeCursor = null;
+        String afterCursor = null;
+        if (!messages.isEmpty()) {
+            MessageView oldest = messages.get(0);
+            MessageView newest = messages.get(messages.size() - 1);
+            if (!newestFirst || hasMore) {
+                beforeCursor = new MessageCursor(oldest.getTimestamp(), oldest.getId()).encode();
+            }
+            afterCursor = new MessageCursor(newest.getTimestamp(), newest.getId()).encode();
+        } else if (after != null) {
+            afterCursor = after;
+        }
+        return new MessagePage<>(messages, beforeCursor, afterCursor, hasMore);
+    }
+
+    /**
+     * Writes a room's whole history as NDJSON, oldest first, while reading it..
+     * Rows come from a forward-only cursor and the persistence context is cleared every
+     * EXPORT_BATCH_ROWS, so memory stays flat whatever the room size. Returns the row count..
+     */
+    @Transactional(readOnly = true)
+    public long exportHistory(String roomId, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Message> messages = messageRepository.streamByRoomId(roomId);
+             JsonGenerator json = EXPORT_JSON.createGenerator(out)) {
+            json.setRootValueSeparator(new SerializedString("\n"));
+
+            Iterator<Message> rows = messages.iterator();
+            while (rows.hasNext()) {
+                Message message = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", message.getId());
+                json.writeStringField("roomId", message.getRoomId());
+                json.writeNumberField("senderId", message.getSender().getId());
+                json.writeStringField("sender", message.getSender().getUsername());
+                json.writeStringField("content", message.getContent());
+                json.writeStringField("timestamp", String.valueOf(message.getTimestamp()));
+                json.writeEndObject();
+
+                if (++count % EXPORT_BATCH_ROWS == 0) {
+                    entityManager.clear();
+                    json.flush();
+                }
+            }
+            if (count > 0) {
+                json.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,186 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.model.Message;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ingest queue persisting chat messages behind the broadcast..
+ *
+ * Messages already carry their id (MessageIdAllocator), so they are broadcast first and
+ * written here by one background thread, up to batchSize per transaction so Hibernate can
+ * use JDBC batching. The queue is bounded: when it stays full for offerTimeoutMs the
+ * sender writes its message itself. A failed batch is retried message by message, and
+ * whatever is queued at shutdown is written before the context closes..
+ */
+@Service
+public class MessageWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(MessageWriteBehind.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${schat.chat.writeBehind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schat.chat.writeBehind.capacity:10000}")
+    private int capacity;
+
+    @Value("${schat.chat.writeBehind.batchSize:200}")
+    private int batchSize;
+
+    @Value("${schat.chat.writeBehind.windowMs:20}")
+    private long windowMs;
+
+    @Value("${schat.chat.writeBehind.offerTimeoutMs:50}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<Message> queue;
+    // Submitters check running and enqueue under the read lock, stop() flips it under the write
+    // lock, so no message can be enqueued after the shutdown flush has drained the queue..
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    // Batch the writer had taken when it was interrupted, flushed by stop()..
+    private volatile List<Message> interruptedBatch = List.of();
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Message write-behind disabled");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "message-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("✓ Message write-behind: capacity={}, batchSize={}, window={}ms", capacity, batchSize, windowMs);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Durability flush: nothing accepted may be lost on a clean shutdown..
+        List<Message> left = new ArrayList<>(interruptedBatch);
+        queue.drainTo(left);
+        for (int from = 0; from < left.size(); from += batchSize) {
+            write(left.subList(from, Math.min(from + batchSize, left.size())));
+        }
+        logger.info("✓ Message write-behind stopped, flushed {} queued message(s)", left.size());
+    }
+
+    /**
+     * Queue a message (id already assigned) for persistence..
+     */
+    public void submit(Message message) {
+        boolean wasRunning = false;
+        lifecycleLock.readLock().lock();
+        try {
+            wasRunning = running;
+            if (wasRunning && queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (wasRunning) {
+            logger.warn("⚠️ Message queue full, writing message {} synchronously..", message.getId());
+        }
+        write(List.of(message));
+    }
+
+    public int queued() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void writeLoop() {
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Message next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                // Taken but unwritten messages go to the shutdown flush (the queue may be full)..
+                interruptedBatch = new ArrayList<>(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Message> batch) {
+        try {
+            persist(batch);
+            logger.debug("Persisted batch of {} message(s)", batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                logger.error("❌ Dropping message {}: {}", batch.get(0).getId(), e.getMessage());
+                return;
+            }
+            logger.warn("⚠️ Batch of {} failed ({}), writing individually..", batch.size(), e.getMessage());
+            for (Message message : batch) {
+                write(List.of(message));
+            }
+        }
+    }
+
+    private void persist(List<Message> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Message message : batch) {
+                entityManager.persist(message);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
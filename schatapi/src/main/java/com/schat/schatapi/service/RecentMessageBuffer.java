@@ -0,0 +1,150 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.dto.MessageView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last messages of each active room, so "open room" reads skip Postgres..
+ *
+ * Every room has a lock-free ring: a sender claims a sequence number with getAndIncrement
+ * and writes its slot; readers check each slot's sequence and give up (caller goes to the
+ * database) on a slot still being written. A ring always holds a contiguous latest suffix
+ * of the room, the messages that reached this node since the ring started, so it can answer
+ * "last n" once it holds n messages. Rings are never seeded from a database read: with
+ * write-behind, such a read can miss messages still queued on any node, and later appends
+ * would never fill that hole. Rooms idle for idleMs are dropped and at most maxRooms are kept..
+ */
+@Service
+public class RecentMessageBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(RecentMessageBuffer.class);
+
+    private static final Comparator<MessageView> NEWEST_FIRST =
+        Comparator.comparing(MessageView::getTimestamp).thenComparing(MessageView::getId).reversed();
+
+    @Value("${schat.chat.recent.capacity:100}")
+    private int capacity;
+
+    @Value("${schat.chat.recent.maxRooms:10000}")
+    private int maxRooms;
+
+    @Value("${schat.chat.recent.idleMs:600000}")
+    private long idleMs;
+
+    private final Map<String, RoomRing> rooms = new ConcurrentHashMap<>();
+
+    public void append(MessageView message) {
+        RoomRing ring = rooms.get(message.getRoomId());
+        if (ring == null) {
+            if (rooms.size() >= maxRooms) {
+                return;
+            }
+            ring = rooms.computeIfAbsent(message.getRoomId(), id -> new RoomRing(capacity));
+        }
+        ring.append(message);
+    }
+
+    /**
+     * The newest count messages of a room, newest first, or null when the buffer can't
+     * answer and the database must..
+     */
+    public List<MessageView> latest(String roomId, int count) {
+        RoomRing ring = rooms.get(roomId);
+        if (ring == null || count > capacity) {
+            return null;
+        }
+        List<MessageView> messages = ring.latest(count);
+        if (messages != null) {
+            messages.sort(NEWEST_FIRST);
+        }
+        return messages;
+    }
+
+    /**
+     * Drops every ring, e.g. when relayed messages may have been missed; reads go to the
+     * database until fresh rings fill up from new messages..
+     */
+    public void clear() {
+        int dropped = rooms.size();
+        rooms.clear();
+        if (dropped > 0) {
+            logger.info("Dropped {} room buffer(s)..", dropped);
+        }
+    }
+
+    public int activeRooms() {
+        return rooms.size();
+    }
+
+    @Scheduled(fixedDelayString = "${schat.chat.recent.sweepMs:60000}")
+    public void evictIdleRooms() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        int before = rooms.size();
+        rooms.values().removeIf(ring -> ring.lastAccessMillis < cutoff);
+        if (before != rooms.size()) {
+            logger.debug("Evicted {} idle room buffer(s), {} left", before - rooms.size(), rooms.size());
+        }
+    }
+
+    /**
+     * Fixed ring of (sequence, message) slots, twice the served capacity so a reader
+     * looking at the last capacity slots isn't raced by the next writers..
+     */
+    private static final class RoomRing {
+        private final AtomicReferenceArray<Slot> slots;
+        private final int mask;
+        private final AtomicLong appended = new AtomicLong();
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        RoomRing(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        void append(MessageView message) {
+            long seq = appended.getAndIncrement();
+            slots.set((int) (seq & mask), new Slot(seq, message));
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        List<MessageView> latest(int count) {
+            lastAccessMillis = System.currentTimeMillis();
+            long end = appended.get();
+            if (end < count) {
+                return null;
+            }
+            long start = Math.max(0, end - count);
+            List<MessageView> messages = new ArrayList<>((int) (end - start));
+            for (long seq = start; seq < end; seq++) {
+                Slot slot = slots.get((int) (seq & mask));
+                if (slot == null || slot.seq != seq) {
+                    return null;
+                }
+                messages.add(slot.message);
+            }
+            return messages;
+        }
+    }
+
+    private static final class Slot {
+        final long seq;
+        final MessageView message;
+
+        Slot(long seq, MessageView message) {
+            this.seq = seq;
+            this.message = message;
+        }
+    }
+}
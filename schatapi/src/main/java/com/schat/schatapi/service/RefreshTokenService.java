@@ -1,45 +1,88 @@
 package com.schat.schatapi.service;
 
+import com.schat.schatapi.cache.BoundedExpiringCache;
+import com.schat.schatapi.cache.CacheStats;
 import com.schat.schatapi.model.RefreshToken;
-import com.schat.schatapi.model.User;
 import com.schat.schatapi.repository.RefreshTokenRepository;
 import com.schat.schatapi.repository.UserRepository;
+import com.schat.schatapi.security.VerifiedTokenCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
-import java.util.UUID;
 
+/**
+ * Refresh tokens are 256 random bits given to the client; the table only keeps their SHA-256,
+ * looked up through its unique index..
+ * Lookups go through a short-TTL cache (invalidated on logout and expiry, the TTL bounding what
+ * other nodes may still see), and expired rows are deleted by a sweeper in bounded batches
+ * instead of waiting for someone to present them..
+ */
 @Service
 public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
     @Value("${schat.app.jwtRefreshExpirationMs}")
     private Long refreshTokenDurationMs;
 
+    @Value("${schat.security.refreshCache.maxSize:10000}")
+    private int cacheMaxSize;
+
+    @Value("${schat.security.refreshCache.ttlMs:30000}")
+    private long cacheTtlMs;
+
+    @Value("${schat.security.refreshSweep.batchSize:1000}")
+    private int sweepBatchSize;
+
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    private final SecureRandom random = new SecureRandom();
+    private BoundedExpiringCache<String, RefreshToken> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedExpiringCache<>("refreshTokens", cacheMaxSize);
+    }
+
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return Optional.ofNullable(cache.getOrLoad(hash(token),
+            tokenHash -> refreshTokenRepository.findByTokenHash(tokenHash).orElse(null), cacheTtlMs));
     }
 
-    public RefreshToken createRefreshToken(Long userId) {
+    /**
+     * Stores a new refresh token for the user and returns it; only its hash is persisted..
+     */
+    public String createRefreshToken(Long userId) {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(userRepository.findById(userId).get());
+        refreshToken.setUser(userRepository.getReferenceById(userId));
         refreshToken.setExpiryDate(LocalDateTime.now().plusSeconds(refreshTokenDurationMs / 1000));
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken = refreshTokenRepository.save(refreshToken);
-        return refreshToken;
+        refreshToken.setTokenHash(hash(token));
+        refreshTokenRepository.save(refreshToken);
+        return token;
     }
 
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().compareTo(LocalDateTime.now()) < 0) {
-            refreshTokenRepository.delete(token);
+            cache.invalidate(token.getTokenHash());
+            refreshTokenRepository.deleteById(token.getId());
             throw new RuntimeException("Refresh token was expired. Please make a new signin request");
         }
         return token;
@@ -47,6 +90,33 @@ public class RefreshTokenService {
 
     @Transactional
     public void deleteByUserId(Long userId) {
-        refreshTokenRepository.deleteByUser(userRepository.findById(userId).get());
+        refreshTokenRepository.findTokenHashesByUserId(userId).forEach(cache::invalidate);
+        refreshTokenRepository.deleteByUser(userRepository.getReferenceById(userId));
+    }
+
+    /**
+     * Deletes expired refresh tokens, batchSize rows per transaction so the table isn't locked
+     * for long, until none are left..
+     */
+    @Scheduled(fixedDelayString = "${schat.security.refreshSweep.intervalMs:3600000}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        if (total > 0) {
+            logger.info("✓ Swept {} expired refresh token(s)..", total);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String hash(String token) {
+        return HexFormat.of().formatHex(VerifiedTokenCache.sha256(token));
     }
 }
@@ -0,0 +1,184 @@
+package com.schat.schatapi.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.schat.schatapi.cache.BoundedExpiringCache;
+import com.schat.schatapi.cache.CacheStats;
+import com.schat.schatapi.dto.MessageView;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Delivers room messages to the WebSocket subscribers of every node..
+ * The accepting node delivers locally right away and publishes on the room's Redis channel
+ * (schat:room:{roomId}); the other nodes get it through RedisRelayConfig's pattern
+ * subscription and deliver it to their own subscribers. Our own echo is skipped by node id,
+ * any other duplicate by message id. With schat.chat.redis.enabled=false it is local only..
+ * Pub/sub is at-most-once, so whenever messages may have been missed (a failed publish, the
+ * subscription dropped or re-established) the recent-message rings are dropped rather than
+ * left serving "latest" with a gap..
+ */
+@Service
+public class RoomMessageRelay implements MessageListener, SubscriptionListener {
+    private static final Logger logger = LoggerFactory.getLogger(RoomMessageRelay.class);
+
+    public static final String CHANNEL_PREFIX = "schat:room:";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private RecentMessageBuffer recentMessageBuffer;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${schat.chat.redis.enabled:false}")
+    private boolean enabled;
+
+    @Value("${schat.chat.redis.dedupMaxSize:100000}")
+    private int dedupMaxSize;
+
+    @Value("${schat.chat.redis.dedupTtlMs:60000}")
+    private long dedupTtlMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private BoundedExpiringCache<Long, Boolean> delivered;
+
+    @PostConstruct
+    public void init() {
+        delivered = new BoundedExpiringCache<>("relayDedup", dedupMaxSize);
+        logger.info("✓ Room message relay {} (node {})..", enabled ? "on Redis" : "local only", nodeId);
+    }
+
+    /**
+     * Delivers a message accepted by this node, then hands it to the other nodes..
+     * A Redis failure is logged and doesn't fail the send: local subscribers already have it..
+     */
+    public void publish(MessageView message) {
+        deliver(message);
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + message.getRoomId(), encode(message));
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not relay message {} of room {}: {}",
+                message.getId(), message.getRoomId(), e.getMessage());
+            // Redis is unreachable, so our subscription is likely missing messages as well..
+            recentMessageBuffer.clear();
+        }
+    }
+
+    @Override
+    public void onMessage(Message redisMessage, byte[] pattern) {
+        String body = new String(redisMessage.getBody(), StandardCharsets.UTF_8);
+        try {
+            Envelope envelope = decode(body);
+            if (nodeId.equals(envelope.origin)) {
+                return;
+            }
+            // Recent history of this node stays complete for rooms written on other nodes..
+            if (deliver(envelope.message)) {
+                recentMessageBuffer.append(envelope.message);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Ignoring malformed relayed message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * (Re)subscribed, e.g. after a reconnect: whatever was relayed meanwhile is lost..
+     */
+    @Override
+    public void onPatternSubscribed(byte[] pattern, long count) {
+        recentMessageBuffer.clear();
+    }
+
+    @Override
+    public void onPatternUnsubscribed(byte[] pattern, long count) {
+        recentMessageBuffer.clear();
+    }
+
+    public CacheStats stats() {
+        return delivered.stats();
+    }
+
+    private boolean deliver(MessageView message) {
+        if (!delivered.putIfAbsent(message.getId(), Boolean.TRUE, System.currentTimeMillis() + dedupTtlMs)) {
+            logger.debug("Message {} already delivered, skipped..", message.getId());
+            return false;
+        }
+        messagingTemplate.convertAndSend("/topic/rooms/" + message.getRoomId(), message);
+        return true;
+    }
+
+    private String encode(MessageView message) throws IOException {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("origin", nodeId);
+            json.writeNumberField("id", message.getId());
+            json.writeStringField("roomId", message.getRoomId());
+            json.writeStringField("content", message.getContent());
+            json.writeStringField("timestamp", String.valueOf(message.getTimestamp()));
+            json.writeNumberField("senderId", message.getSenderId());
+            json.writeStringField("senderUsername", message.getSenderUsername());
+            json.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    private static Envelope decode(String body) throws IOException {
+        Envelope envelope = new Envelope();
+        MessageView message = new MessageView();
+        try (JsonParser json = JSON.createParser(body)) {
+            if (json.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("not a JSON object");
+            }
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                json.nextToken();
+                switch (field) {
+                    case "origin": envelope.origin = json.getValueAsString(); break;
+                    case "id": message.setId(json.getLongValue()); break;
+                    case "roomId": message.setRoomId(json.getValueAsString()); break;
+                    case "content": message.setContent(json.getValueAsString()); break;
+                    case "timestamp": message.setTimestamp(LocalDateTime.parse(json.getValueAsString())); break;
+                    case "senderId": message.setSenderId(json.getLongValue()); break;
+                    case "senderUsername": message.setSenderUsername(json.getValueAsString()); break;
+                    default: json.skipChildren();
+                }
+            }
+        }
+        if (message.getId() == null || message.getRoomId() == null) {
+            throw new IOException("id and roomId are required");
+        }
+        envelope.message = message;
+        return envelope;
+    }
+
+    private static final class Envelope {
+        String origin;
+        MessageView message;
+    }
+}
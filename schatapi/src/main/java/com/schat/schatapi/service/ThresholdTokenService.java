@@ -1,18 +1,37 @@
 package com.schat.schatapi.service;
 
+import com.schat.schatapi.security.ParsedToken;
+import com.schat.signature.coordinator.HttpPartySigningClient;
+import com.schat.signature.coordinator.LocalPartySigningClient;
+import com.schat.signature.coordinator.PartySigningClient;
+import com.schat.signature.coordinator.PartyRequestAuth;
+import com.schat.signature.coordinator.PartySigningServer;
+import com.schat.signature.coordinator.ThresholdSigningCoordinator;
 import com.schat.signature.core.*;
 import com.schat.signature.service.TokenSigningService;
 import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.util.KeyStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
 import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class ThresholdTokenService {
@@ -20,8 +39,12 @@ public class ThresholdTokenService {
 
     private TokenSigningService tokenSigningService;
     private SDithPublicKey publicKey;
-    private List<SDithKeyPair> allKeyPairs;
     private BigInteger curveOrder;
+    private ThresholdSigningCoordinator coordinator;
+
+    @Autowired
+    @Qualifier("cryptoExecutor")
+    private ExecutorService cryptoExecutor;
 
     @Value("${schat.threshold.partyIndex:1}")
     private int partyIndex;
@@ -32,32 +55,37 @@ public class ThresholdTokenService {
     @Value("${schat.threshold.threshold:2}")
     private int threshold;
 
+    // Directory of party-<i>.json share files; empty means all parties are simulated in-process..
+    @Value("${schat.threshold.keyDirectory:}")
+    private String keyDirectory;
+
+    // Other parties as "index=url" pairs, e.g. 2=http://localhost:9102,3=http://localhost:9103
+    @Value("${schat.threshold.remoteParties:}")
+    private String remoteParties;
+
+    // Shared with every PartySigningServer (its SCHAT_PARTY_SECRET), signs each request..
+    @Value("${schat.threshold.partySecret:}")
+    private String partySecret;
+
+    @Value("${schat.threshold.hedgeDelayMs:50}")
+    private long hedgeDelayMs;
+
+    @Value("${schat.threshold.signTimeoutMs:2000}")
+    private long signTimeoutMs;
+
     @PostConstruct
     public void init() {
         try {
             logger.info("Initializing threshold signature service...");
             
             this.curveOrder = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
-            
-            SignatureConfig config = new SignatureConfig(threshold, totalParties, curveOrder);
-
-            // Generate all key pairs for simulation
-            SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(
-                config.getThreshold(), config.getTotalParties(), config.getCurveOrder()
-            );
-
-            // Store all key pairs (for simulation only)
-            this.allKeyPairs = new ArrayList<>();
-            for (int i = 1; i <= totalParties; i++) {
-                SDithKeyPair kp = keyGenerator.getKeyPairForParty(i);
-                allKeyPairs.add(kp);
-                logger.debug("Generated key pair for party {}", i);
-            }
 
-            // Set up our own key pair
-            SDithKeyPair myKeyPair = allKeyPairs.get(partyIndex - 1);
-            this.tokenSigningService = new TokenSigningService(myKeyPair);
-            this.publicKey = myKeyPair.getPublicKey();
+            List<PartySigningClient> parties = keyDirectory.isBlank()
+                ? initSimulatedParties()
+                : initRemoteParties();
+
+            this.coordinator = new ThresholdSigningCoordinator(parties, publicKey,
+                Duration.ofMillis(hedgeDelayMs), Duration.ofMillis(signTimeoutMs));
 
             logger.info("✓ Threshold service initialized: party={}, threshold={}/{}", 
                 partyIndex, threshold, totalParties);
@@ -67,126 +95,137 @@ public class ThresholdTokenService {
         }
     }
 
-    public String signToken(String token) {
-        try {
-            logger.info("=== Token Signing Started ===");
-            logger.debug("Token prefix: {}...", token.substring(0, Math.min(50, token.length())));
-            
-            byte[] tokenBytes = token.getBytes();
+    /**
+     * Every party simulated in-process from a freshly dealt key..
+     */
+    private List<PartySigningClient> initSimulatedParties() {
+        SignatureConfig config = new SignatureConfig(threshold, totalParties, curveOrder);
 
-            // Generate deterministic shared nonce from message
-            // All parties can compute this independently
-            BigInteger sharedNonce = SDithThresholdScheme.generateDeterministicNonce(
-                tokenBytes, curveOrder);
-            logger.debug("✓ Generated shared nonce (deterministic from message)");
+        // Generate all key pairs for simulation
+        SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(
+            config.getThreshold(), config.getTotalParties(), config.getCurveOrder()
+        );
 
-            // Generate partial signatures with the shared nonce
-            List<SDithPartialSignature> partials = generateCoordinatedPartialSignatures(
-                tokenBytes, sharedNonce);
-            
-            logger.info("✓ Collected {} partial signatures", partials.size());
+        // Store all key pairs (for simulation only), dealt in parallel
+        SDithKeyPair[] dealtKeyPairs = new SDithKeyPair[totalParties];
+        keyGenerator.forEachKeyPair((kp, index) -> dealtKeyPairs[index - 1] = kp);
+        List<SDithKeyPair> allKeyPairs = Arrays.asList(dealtKeyPairs);
+        logger.debug("Generated key pairs for {} parties", totalParties);
 
-            // Combine signatures
-            byte[] finalSignature = tokenSigningService.signToken(tokenBytes, partials);
-            logger.info("✓ Combined into final signature ({} bytes)", finalSignature.length);
+        // Set up our own key pair
+        SDithKeyPair myKeyPair = allKeyPairs.get(partyIndex - 1);
+        this.tokenSigningService = new TokenSigningService(myKeyPair);
+        this.publicKey = myKeyPair.getPublicKey();
 
-            // Append signature to token using :: separator
-            String signatureB64 = Base64.getEncoder().encodeToString(finalSignature);
-            String result = token + "::" + signatureB64;
-            
-            logger.info("=== Token Signing Completed Successfully ===");
-            return result;
-            
-        } catch (Exception e) {
-            logger.error("❌ Token signing failed: {}", e.getMessage());
-            logger.error("Stack trace:", e);
-            throw new RuntimeException("❌Token signing failed: " + e.getMessage(), e);
+        List<PartySigningClient> parties = new ArrayList<>();
+        for (SDithKeyPair keyPair : allKeyPairs) {
+            parties.add(new LocalPartySigningClient(keyPair, cryptoExecutor));
         }
+        return parties;
     }
 
     /**
-     * Generate partial signatures using coordinated nonce
-     * All parties use the same nonce, ensuring consistent r values
+     * Our own share from keyDirectory, the other parties reached over HTTP..
+     * Share files come from PartySigningServer deal; each remote party runs PartySigningServer serve..
      */
-    private List<SDithPartialSignature> generateCoordinatedPartialSignatures(
-            byte[] message, BigInteger sharedNonce) {
-        
-        List<SDithPartialSignature> partials = new ArrayList<>();
+    private List<PartySigningClient> initRemoteParties() throws Exception {
+        File shareFile = new File(keyDirectory, PartySigningServer.shareFileName(partyIndex));
+        SDithKeyPair myKeyPair = KeyStorage.loadKeyPair(shareFile.getPath());
+        this.tokenSigningService = new TokenSigningService(myKeyPair);
+        this.publicKey = myKeyPair.getPublicKey();
 
-        try {
-            logger.info("--- Coordinated Signing Protocol ---");
-            logger.debug("Shared nonce: {}", sharedNonce.toString(16).substring(0, 16) + "...");
-            
-            // Select threshold number of parties to participate
-            List<Integer> participatingParties = selectParticipatingParties();
-            logger.debug("Participating parties: {}", participatingParties);
-
-            // Each party generates their partial signature with the SAME shared nonce
-            for (int partyIdx : participatingParties) {
-                SDithKeyPair keyPair = allKeyPairs.get(partyIdx - 1);
-                
-                logger.debug("Party {} generating partial signature with shared nonce", partyIdx);
-                
-                // Use the NEW method that accepts a shared nonce
-                SDithPartialSignature partialSig = SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
-                    message,
-                    keyPair.getPrivateKeyShare().getShare(),
-                    keyPair.getPrivateKeyShare().getIndex(),
-                    sharedNonce,  // ← SAME nonce for all parties!
-                    curveOrder
-                );
-                
-                partials.add(partialSig);
-                logger.debug("✓ Party {} partial signature added (r={}...) ({}/{})", 
-                    partyIdx, 
-                    partialSig.getR().toString(16).substring(0, 16),
-                    partials.size(), 
-                    threshold);
-            }
+        List<PartySigningClient> parties = new ArrayList<>();
+        parties.add(new LocalPartySigningClient(myKeyPair, cryptoExecutor));
 
-            if (partials.size() < threshold) {
-                throw new RuntimeException(
-                    String.format("Insufficient signatures: %d < %d", partials.size(), threshold));
+        PartyRequestAuth auth = PartyRequestAuth.fromText(partySecret);
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(signTimeoutMs))
+            .build();
+        for (String entry : remoteParties.split(",")) {
+            if (entry.isBlank()) {
+                continue;
             }
-
-            // Verify all r values are the same
-            BigInteger expectedR = partials.get(0).getR();
-            for (SDithPartialSignature partial : partials) {
-                if (!partial.getR().equals(expectedR)) {
-                    throw new RuntimeException(
-                        "R-value mismatch detected! Party " + partial.getShareIndex() + 
-                        " has different r value. This should not happen with coordinated nonce.");
-                }
+            String[] pair = entry.trim().split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid remote party entry: " + entry);
             }
+            parties.add(new HttpPartySigningClient(Integer.parseInt(pair[0].trim()), URI.create(pair[1].trim()),
+                auth, httpClient, Duration.ofMillis(signTimeoutMs)));
+        }
+        logger.debug("Loaded share {} from {}, {} remote parties", partyIndex, shareFile, parties.size() - 1);
+        return parties;
+    }
 
-            logger.info("✓ All partial signatures have consistent r values");
-            logger.info("--- Protocol Complete: {}/{} signatures ---", partials.size(), threshold);
-            return partials;
-            
-        } catch (Exception e) {
-            logger.error("❌ Coordinated signing failed: {}", e.getMessage(), e);
-            throw new RuntimeException("Coordinated signing failed: " + e.getMessage(), e);
+    @PreDestroy
+    public void shutdown() {
+        if (coordinator != null) {
+            coordinator.close();
+        }
+    }
+
+    public String signToken(String token) {
+        try {
+            return signTokenAsync(token).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("❌Token signing failed: " + cause.getMessage(), cause);
         }
     }
 
     /**
-     * Select which parties will participate in this signature
-     * In production, this would be based on availability
+     * Sign a token without holding the caller's thread
+     * Partials are computed in parallel on the crypto pool (or by the remote parties),
+     * the combination runs on the crypto pool too
+     */
+    public CompletableFuture<String> signTokenAsync(String token) {
+        logger.info("=== Token Signing Started ===");
+        logger.debug("Token prefix: {}...", token.substring(0, Math.min(50, token.length())));
+
+        byte[] tokenBytes = token.getBytes();
+
+        // Fan out to the parties, the first threshold valid partials win
+        // Every party derives the same nonce from the message, so r values agree
+        return coordinator.collectPartialSignatures(tokenBytes)
+            .thenApplyAsync(partials -> {
+                logger.info("✓ Collected {} partial signatures from parties {}", partials.size(),
+                    partials.stream().map(SDithPartialSignature::getShareIndex).toList());
+
+                // Combine signatures
+                byte[] finalSignature = tokenSigningService.signToken(tokenBytes, partials);
+                logger.info("✓ Combined into final signature ({} bytes)", finalSignature.length);
+
+                // Append signature to token using :: separator
+                String signatureB64 = Base64.getEncoder().encodeToString(finalSignature);
+                logger.info("=== Token Signing Completed Successfully ===");
+                return token + "::" + signatureB64;
+            }, cryptoExecutor)
+            .whenComplete((signed, error) -> {
+                if (error != null) {
+                    logger.error("❌ Token signing failed: {}", error.getMessage(), error);
+                }
+            });
+    }
+
+    /**
+     * Sign many tokens with one quorum exchange per party and one Lagrange lookup
+     * Results are in input order
      */
-    private List<Integer> selectParticipatingParties() {
-        List<Integer> parties = new ArrayList<>();
-        
-        // Start with our own party
-        parties.add(partyIndex);
-        
-        // Add additional parties up to threshold
-        for (int i = 1; i < threshold; i++) {
-            int nextParty = (partyIndex + i) % totalParties;
-            if (nextParty == 0) nextParty = totalParties;
-            parties.add(nextParty);
+    public CompletableFuture<List<String>> signTokenBatchAsync(List<String> tokens) {
+        List<byte[]> messages = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            messages.add(token.getBytes());
         }
-        
-        return parties;
+
+        return coordinator.collectPartialSignatureBatch(messages)
+            .thenApplyAsync(partials -> {
+                List<SDithSignature> signatures = SDithThresholdScheme.combineSignatureBatch(partials, publicKey);
+                List<String> signed = new ArrayList<>(tokens.size());
+                for (int i = 0; i < tokens.size(); i++) {
+                    signed.add(tokens.get(i) + "::" + Base64.getEncoder().encodeToString(signatures.get(i).toBytes()));
+                }
+                logger.info("✓ Signed batch of {} tokens", tokens.size());
+                return signed;
+            }, cryptoExecutor);
     }
 
     public boolean verifyTokenSignature(String signedToken) {
@@ -213,6 +252,37 @@ public class ThresholdTokenService {
         }
     }
 
+    /**
+     * Same check on a token the filter has already taken apart, nothing is split or decoded again..
+     */
+    public boolean verifyTokenSignature(ParsedToken token) {
+        if (!token.hasThresholdSignature()) {
+            return false;
+        }
+        try {
+            boolean valid = SDithThresholdScheme.verifySignature(
+                token.getSignedBytes(), token.getSignature(), publicKey);
+            logger.debug("Token signature verification: {}..", valid ? "VALID" : "INVALID");
+            return valid;
+        } catch (Exception e) {
+            logger.error("❌ Token verification failed: {}..", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Verify many signed tokens, returning one result per token in input order..
+     * Each token is checked on its own: a random linear combination of the equations isn't
+     * sound in the demonstration group, whose order is even (r -> -r slips through)..
+     */
+    public List<Boolean> verifyTokenSignatures(List<String> signedTokens) {
+        List<Boolean> results = new ArrayList<>(signedTokens.size());
+        for (String signedToken : signedTokens) {
+            results.add(verifyTokenSignature(signedToken));
+        }
+        return results;
+    }
+
     public String extractUnsignedToken(String signedToken) {
         String[] parts = signedToken.split("::");
         return parts.length == 2 ? parts[0] : signedToken;
@@ -0,0 +1,190 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.cache.BloomFilter;
+import com.schat.schatapi.security.VerifiedTokenCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked (logged out) access tokens, checked on every authenticated request..
+ * A bloom filter in memory answers "not revoked" for nearly every token without any I/O; only
+ * its possible hits go to the store, which holds each revoked token's SHA-256 until the token's
+ * own expiry. With schat.chat.redis.enabled the store is Redis (schat:revoked:{hash}, TTL'd)
+ * and revocations reach the other nodes' filters on the schat:revocations channel; otherwise
+ * it is a local map. Filters are rebuilt from the store every rebuildMs to shed expired tokens,
+ * and whenever the channel is (re)subscribed, since revocations published meanwhile are lost..
+ */
+@Service
+public class TokenBlacklistService implements MessageListener, SubscriptionListener {
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+
+    public static final String REVOCATION_CHANNEL = "schat:revocations";
+    private static final String KEY_PREFIX = "schat:revoked:";
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder KEY_DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${schat.chat.redis.enabled:false}")
+    private boolean shared;
+
+    @Value("${schat.security.revocation.expectedEntries:100000}")
+    private int expectedEntries;
+
+    @Value("${schat.security.revocation.falsePositiveRate:0.001}")
+    private double falsePositiveRate;
+
+    // Local store (single node): token hash -> expiry millis..
+    private final Map<ByteBuffer, Long> revokedUntil = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    // Filter being rebuilt, also fed by revocations made meanwhile..
+    private volatile BloomFilter rebuilding;
+
+    @PostConstruct
+    public void init() {
+        filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        if (shared) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.warn("⚠️ Could not load revoked tokens from Redis: {}", e.getMessage());
+            }
+        }
+        logger.info("✓ Token revocation {} (filter {} KB, {} hashes)..", shared ? "shared through Redis" : "local",
+            filter.sizeInBytes() / 1024, filter.getNumHashes());
+    }
+
+    /**
+     * Revokes a token until its expiration; an already expired token needs nothing..
+     */
+    public void revoke(String token, long expiresAtMillis) {
+        long ttlMillis = expiresAtMillis - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        byte[] hash = VerifiedTokenCache.sha256(token);
+        if (shared) {
+            String key = KEY_ENCODER.encodeToString(hash);
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, "1", Duration.ofMillis(ttlMillis));
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, key);
+        } else {
+            revokedUntil.put(ByteBuffer.wrap(hash), expiresAtMillis);
+        }
+        addToFilters(hash);
+        logger.debug("Token revoked until {}..", expiresAtMillis);
+    }
+
+    public boolean isRevoked(String token) {
+        return isRevoked(VerifiedTokenCache.sha256(token));
+    }
+
+    /**
+     * Same check for a token whose VerifiedTokenCache.sha256 the caller already has..
+     */
+    public boolean isRevoked(byte[] hash) {
+        if (!filter.mightContain(hash)) {
+            return false;
+        }
+        if (!shared) {
+            Long until = revokedUntil.get(ByteBuffer.wrap(hash));
+            return until != null && until > System.currentTimeMillis();
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + KEY_ENCODER.encodeToString(hash)));
+        } catch (Exception e) {
+            // Only possible hits get here, so failing closed rejects very few valid tokens..
+            logger.warn("⚠️ Revocation store unavailable, treating token as revoked: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * A revocation made on another node..
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            addToFilters(KEY_DECODER.decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("⚠️ Ignoring malformed revocation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * (Re)subscribed, e.g. after a reconnect: reload from the store off the subscriber thread..
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!shared) {
+            return;
+        }
+        CompletableFuture.runAsync(this::rebuild).exceptionally(e -> {
+            logger.warn("⚠️ Could not reload revoked tokens after resubscribing: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${schat.security.revocation.rebuildMs:600000}")
+    public synchronized void rebuild() {
+        BloomFilter fresh = new BloomFilter(expectedEntries, falsePositiveRate);
+        rebuilding = fresh;
+        int count = 0;
+        try {
+            if (shared) {
+                ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+                try (Cursor<String> keys = redisTemplate.scan(options)) {
+                    while (keys.hasNext()) {
+                        fresh.add(KEY_DECODER.decode(keys.next().substring(KEY_PREFIX.length())));
+                        count++;
+                    }
+                }
+            } else {
+                long now = System.currentTimeMillis();
+                revokedUntil.values().removeIf(until -> until <= now);
+                for (ByteBuffer hash : revokedUntil.keySet()) {
+                    fresh.add(hash.array());
+                    count++;
+                }
+            }
+            filter = fresh;
+        } finally {
+            rebuilding = null;
+        }
+        if (count > expectedEntries) {
+            logger.warn("⚠️ {} revoked tokens exceed expectedEntries={}, false positives will rise",
+                count, expectedEntries);
+        }
+        logger.debug("Revocation filter rebuilt with {} token(s)..", count);
+    }
+
+    // Rebuilding filter first: once it reads null here, filter is already the rebuilt one..
+    private void addToFilters(byte[] hash) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(hash);
+        }
+        filter.add(hash);
+    }
+}
@@ -0,0 +1,173 @@
+package com.schat.schatapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuance queue gathering concurrent signing requests into micro-batches..
+ *
+ * The first request of a batch opens a window of windowMs; everything arriving before it
+ * closes (up to maxBatchSize) is signed with one quorum exchange and one Lagrange lookup
+ * through ThresholdTokenService.signTokenBatchAsync. A lone request skips the batch path.
+ * If a batch fails as a whole, its tokens are retried one by one so a single bad request
+ * can't fail its neighbours..
+ */
+@Service
+public class TokenIssuanceBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TokenIssuanceBatcher.class);
+
+    @Autowired
+    private ThresholdTokenService thresholdTokenService;
+
+    @Value("${schat.threshold.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schat.threshold.batch.windowMs:2}")
+    private long windowMs;
+
+    @Value("${schat.threshold.batch.maxSize:64}")
+    private int maxBatchSize;
+
+    private final BlockingQueue<PendingToken> queue = new LinkedBlockingQueue<>();
+    // Held while checking running and enqueueing, so stop() can't miss a late submit..
+    private final Object lifecycleLock = new Object();
+    private Thread drainer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Token issuance batching disabled");
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "token-issuance-batcher");
+        drainer.setDaemon(true);
+        drainer.start();
+        logger.info("✓ Token issuance batching: window={}ms, maxSize={}", windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Nothing can be queued any more; whatever is left gets signed on its own..
+        List<PendingToken> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(this::signAlone);
+    }
+
+    /**
+     * Queue an unsigned token for signing..
+     */
+    public CompletableFuture<String> submit(String unsignedToken) {
+        PendingToken pending = new PendingToken(unsignedToken);
+        synchronized (lifecycleLock) {
+            if (running) {
+                queue.add(pending);
+                return pending.future;
+            }
+        }
+        return thresholdTokenService.signTokenAsync(unsignedToken);
+    }
+
+    private void drainLoop() {
+        List<PendingToken> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingToken first = queue.take();
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingToken next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                dispatch(new ArrayList<>(batch));
+            } catch (InterruptedException e) {
+                // Stopping; requests already taken off the queue are still owed an answer..
+                Thread.currentThread().interrupt();
+                running = false;
+                batch.forEach(this::signAlone);
+            } catch (RuntimeException e) {
+                logger.error("❌ Token batch dispatch failed: {}", e.getMessage(), e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<PendingToken> batch) {
+        if (batch.size() == 1) {
+            signAlone(batch.get(0));
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>(batch.size());
+        for (PendingToken pending : batch) {
+            tokens.add(pending.token);
+        }
+        logger.debug("Dispatching token batch of {}", batch.size());
+
+        thresholdTokenService.signTokenBatchAsync(tokens).whenComplete((signed, error) -> {
+            if (error != null) {
+                logger.warn("⚠️ Batch of {} failed ({}), signing individually..", batch.size(), error.getMessage());
+                batch.forEach(this::signAlone);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(signed.get(i));
+            }
+        });
+    }
+
+    private void signAlone(PendingToken pending) {
+        thresholdTokenService.signTokenAsync(pending.token).whenComplete((signed, error) -> {
+            if (error != null) {
+                pending.future.completeExceptionally(error);
+            } else {
+                pending.future.complete(signed);
+            }
+        });
+    }
+
+    private static final class PendingToken {
+        final String token;
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        PendingToken(String token) {
+            this.token = token;
+        }
+    }
+}
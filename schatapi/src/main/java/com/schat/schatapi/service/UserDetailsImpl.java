@@ -2,6 +2,7 @@ package com.schat.schatapi.service;
 
 import com.schat.schatapi.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +15,12 @@ import java.util.stream.Collectors;
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
 
+    // Token claims written by JwtUtils and read back by fromClaims..
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_STATUS_VERSION = "sv";
+
     private Long id;
     private String username;
     private String email;
@@ -23,6 +30,9 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    private long statusVersion;
+    private boolean enabled = true;
+
     public UserDetailsImpl(Long id, String username, String email, String password,
                           Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -32,6 +42,14 @@ public class UserDetailsImpl implements UserDetails {
         this.authorities = authorities;
     }
 
+    public UserDetailsImpl(Long id, String username, String email, String password,
+                          Collection<? extends GrantedAuthority> authorities,
+                          long statusVersion, boolean enabled) {
+        this(id, username, email, password, authorities);
+        this.statusVersion = statusVersion;
+        this.enabled = enabled;
+    }
+
     public static UserDetailsImpl build(User user) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
             .map(role -> new SimpleGrantedAuthority(role.getName().name()))
@@ -42,7 +60,41 @@ public class UserDetailsImpl implements UserDetails {
             user.getUsername(),
             user.getEmail(),
             user.getPassword(),
-            authorities);
+            authorities,
+            user.getStatusVersion(),
+            !Boolean.FALSE.equals(user.getActive()));
+    }
+
+    /**
+     * Principal rebuilt from verified token claims, without touching the database..
+     * Returns null for tokens issued before the roles claim existed..
+     */
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        Object id = claims.get(CLAIM_ID);
+        if (!(roles instanceof Collection) || !(id instanceof Number)) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = ((Collection<?>) roles).stream()
+            .map(role -> new SimpleGrantedAuthority(role.toString()))
+            .collect(Collectors.toList());
+        Object statusVersion = claims.get(CLAIM_STATUS_VERSION);
+
+        return new UserDetailsImpl(
+            ((Number) id).longValue(),
+            claims.getSubject(),
+            claims.get(CLAIM_EMAIL, String.class),
+            null,
+            authorities,
+            statusVersion instanceof Number ? ((Number) statusVersion).longValue() : 0L,
+            true);
+    }
+
+    public List<String> getRoleNames() {
+        return authorities.stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -52,6 +104,7 @@ public class UserDetailsImpl implements UserDetails {
 
     public Long getId() { return id; }
     public String getEmail() { return email; }
+    public long getStatusVersion() { return statusVersion; }
 
     @Override
     public String getPassword() { return password; }
@@ -64,7 +117,7 @@ public class UserDetailsImpl implements UserDetails {
     @Override
     public boolean isCredentialsNonExpired() { return true; }
     @Override
-    public boolean isEnabled() { return true; }
+    public boolean isEnabled() { return enabled; }
 
     @Override
     public boolean equals(Object o) {
@@ -4,6 +4,7 @@ import com.schat.schatapi.dto.UserProfileResponse;
 import com.schat.schatapi.dto.UpdateProfileRequest;
 import com.schat.schatapi.model.User;
 import com.schat.schatapi.repository.UserRepository;
+import com.schat.schatapi.security.AccountStatusRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,15 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AccountStatusRegistry accountStatusRegistry;
+
+    @Autowired
+    private CachingUserDetailsService userDetailsService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     public UserProfileResponse getUserProfile(String username) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("❌Error: User not found.."));
@@ -31,12 +41,14 @@ public class UserService {
     public UserProfileResponse updateUserProfile(String username, UpdateProfileRequest request) {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("❌Error: User not found.."));
+        boolean credentialsChanged = false;
         
         if (request.getEmail() != null && !request.getEmail().isEmpty()) {
             if (userRepository.existsByEmail(request.getEmail()) && 
                 !user.getEmail().equals(request.getEmail())) {
                 throw new RuntimeException("❌Error: Email is already in use!!..");
             }
+            credentialsChanged |= !request.getEmail().equals(user.getEmail());
             user.setEmail(request.getEmail());
         }
         
@@ -45,14 +57,45 @@ public class UserService {
                 throw new RuntimeException("❌Error: Current password is incorrect..");
             }
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+            credentialsChanged = true;
         }
         
+        // Tokens issued before the change carry the old email / password state..
+        if (credentialsChanged) {
+            user.bumpStatusVersion();
+        }
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        if (credentialsChanged) {
+            accountStatusRegistry.update(user.getId(), user.getStatusVersion());
+            userDetailsService.evict(username);
+            refreshTokenService.deleteByUserId(user.getId());
+        }
         
         return mapToProfileResponse(user);
     }
 
+    /**
+     * Activating or deactivating an account; a deactivated user's tokens stop working at once
+     * and its refresh tokens are deleted..
+     */
+    public UserProfileResponse setUserActive(String username, boolean active) {
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("❌Error: User not found.."));
+
+        if (active != !Boolean.FALSE.equals(user.getActive())) {
+            user.setActive(active);
+            user.bumpStatusVersion();
+            userRepository.save(user);
+            accountStatusRegistry.update(user.getId(), user.getStatusVersion());
+            userDetailsService.evict(username);
+            if (!active) {
+                refreshTokenService.deleteByUserId(user.getId());
+            }
+        }
+        return mapToProfileResponse(user);
+    }
+
     private UserProfileResponse mapToProfileResponse(User user) {
         // Convert full User entity to response DTO..
         Set<String> roles = user.getRoles().stream()
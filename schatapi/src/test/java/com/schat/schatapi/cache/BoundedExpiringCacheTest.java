@@ -0,0 +1,85 @@
+package com.schat.schatapi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedExpiringCacheTest {
+
+    @Test
+    void returnsLiveEntriesOnly() throws Exception {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        long now = System.currentTimeMillis();
+        cache.put("live", "a", now + 60_000);
+        cache.put("short", "b", now + 20);
+        cache.put("past", "c", now - 1);
+
+        Thread.sleep(40);
+
+        assertEquals("a", cache.get("live"));
+        assertNull(cache.get("short"));
+        assertNull(cache.get("past"));
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void putIfAbsentKeepsTheLiveEntry() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        long expiry = System.currentTimeMillis() + 60_000;
+
+        assertTrue(cache.putIfAbsent("k", "first", expiry));
+        assertFalse(cache.putIfAbsent("k", "second", expiry));
+        assertEquals("first", cache.get("k"));
+    }
+
+    @Test
+    void loadsOnceAndDoesNotCacheNull() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("k", key -> key + loads.incrementAndGet(), 60_000);
+        assertEquals("k1", cache.getOrLoad("k", key -> key + loads.incrementAndGet(), 60_000));
+        assertNull(cache.getOrLoad("missing", key -> null, 60_000));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.stats().getLoadCount());
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>("test", 100);
+        long expiry = System.currentTimeMillis() + 60_000;
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i, expiry + i);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(10_000 - 100, cache.stats().getEvictions());
+        assertEquals(9_999, cache.get(9_999));
+    }
+
+    @Test
+    void purgesExpiredEntriesWhenFull() throws Exception {
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>("test", 100);
+        long expiry = System.currentTimeMillis() + 20;
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i, expiry);
+        }
+
+        Thread.sleep(40);
+        cache.put(100, 100, System.currentTimeMillis() + 60_000);
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedExpiringCache<>("test", 0));
+    }
+}
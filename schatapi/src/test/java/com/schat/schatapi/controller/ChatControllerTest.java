@@ -0,0 +1,79 @@
+package com.schat.schatapi.controller;
+
+import com.schat.schatapi.dto.MessageView;
+import com.schat.schatapi.model.Message;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.service.MessageService;
+import com.schat.schatapi.service.RoomMessageRelay;
+import com.schat.schatapi.service.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatControllerTest {
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private RoomMessageRelay roomMessageRelay;
+
+    @InjectMocks
+    private ChatController chatController;
+
+    @Test
+    void senderComesFromTheSession() {
+        UserDetailsImpl user = new UserDetailsImpl(7L, "alice", "alice@example.com", "", List.of());
+        Principal principal = new UsernamePasswordAuthenticationToken(user, null, List.of());
+        when(messageService.submit(any(Message.class))).thenReturn(new MessageView());
+
+        chatController.sendToRoom("lobby", message(99L, "mallory"), principal);
+
+        ArgumentCaptor<Message> submitted = ArgumentCaptor.forClass(Message.class);
+        verify(messageService).submit(submitted.capture());
+        assertEquals(7L, submitted.getValue().getSender().getId());
+        assertEquals("alice", submitted.getValue().getSender().getUsername());
+        assertEquals("lobby", submitted.getValue().getRoomId());
+    }
+
+    @Test
+    void rejectsSessionsWithoutAnAuthenticatedUser() {
+        Principal anonymous = () -> "mallory";
+        Principal unauthenticated = new UsernamePasswordAuthenticationToken("mallory", "secret");
+
+        assertThrows(AccessDeniedException.class,
+            () -> chatController.sendToRoom("lobby", message(99L, "mallory"), null));
+        assertThrows(AccessDeniedException.class,
+            () -> chatController.sendToRoom("lobby", message(99L, "mallory"), anonymous));
+        assertThrows(AccessDeniedException.class,
+            () -> chatController.sendToRoom("lobby", message(99L, "mallory"), unauthenticated));
+        verify(messageService, never()).submit(any());
+        verify(roomMessageRelay, never()).publish(any());
+    }
+
+    private static Message message(Long senderId, String senderUsername) {
+        User sender = new User();
+        sender.setId(senderId);
+        sender.setUsername(senderUsername);
+        Message message = new Message();
+        message.setContent("hello");
+        message.setSender(sender);
+        return message;
+    }
+}
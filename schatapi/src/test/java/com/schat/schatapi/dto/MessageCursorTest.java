@@ -0,0 +1,28 @@
+package com.schat.schatapi.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageCursorTest {
+
+    @Test
+    void roundTrips() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_000_000);
+
+        MessageCursor decoded = MessageCursor.decode(new MessageCursor(timestamp, 42L).encode());
+
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> MessageCursor.decode("MjAyNi0wMS0wMVQxMjowMHx4"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.schat.schatapi.security;
+
+import com.schat.schatapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatusRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @InjectMocks
+    private AccountStatusRegistry registry;
+
+    @Test
+    void publishesLocalBumps() {
+        ReflectionTestUtils.setField(registry, "shared", true);
+
+        registry.update(7L, 3L);
+
+        assertFalse(registry.isCurrent(7L, 2L));
+        assertTrue(registry.isCurrent(7L, 3L));
+        verify(redisTemplate).convertAndSend(AccountStatusRegistry.STATUS_CHANNEL, "7:3");
+    }
+
+    @Test
+    void appliesBumpsFromOtherNodesWithoutGoingBack() {
+        registry.onMessage(message("7:5"), null);
+        registry.onMessage(message("7:4"), null);
+        registry.onMessage(message("garbage"), null);
+
+        assertFalse(registry.isCurrent(7L, 4L));
+        assertTrue(registry.isCurrent(7L, 5L));
+        assertTrue(registry.isCurrent(8L, 0L));
+    }
+
+    @Test
+    void reloadCatchesUpOnMissedBumps() {
+        when(userRepository.findStatusVersions()).thenReturn(List.<Object[]>of(new Object[] { 7L, 2L }));
+
+        registry.reload();
+
+        assertFalse(registry.isCurrent(7L, 1L));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(AccountStatusRegistry.STATUS_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
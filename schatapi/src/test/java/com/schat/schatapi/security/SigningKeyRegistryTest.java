@@ -0,0 +1,105 @@
+package com.schat.schatapi.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SigningKeyRegistryTest {
+    private static final String SECRET = "aSecretForTheTestsThatIsAtLeast256BitsLongToo";
+
+    // Stands in for the schat:signing-keys hash in Redis..
+    private final Map<String, String> sharedState = new ConcurrentHashMap<>();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(hashOperations.entries(anyString())).thenAnswer(call -> Map.copyOf(sharedState));
+        doAnswer(call -> {
+            sharedState.putAll(call.<Map<String, String>>getArgument(1));
+            return null;
+        }).when(hashOperations).putAll(anyString(), anyMap());
+        redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.convertAndSend(anyString(), any())).thenReturn(1L);
+    }
+
+    @Test
+    void rotationReachesOtherNodesAndSurvivesRestarts() {
+        SigningKeyRegistry node = registry(true);
+        SigningKeyRegistry otherNode = registry(true);
+        String beforeRotation = token(node);
+
+        SigningKeyRegistry.SigningKey rotated = node.rotate();
+        otherNode.onMessage(new DefaultMessage(new byte[0], rotated.getKid().getBytes()), null);
+        String afterRotation = token(node);
+
+        assertNotEquals("default", rotated.getKid());
+        assertEquals(rotated.getKid(), otherNode.activeKey().getKid());
+        otherNode.parser().parseSignedClaims(beforeRotation);
+        otherNode.parser().parseSignedClaims(afterRotation);
+
+        SigningKeyRegistry restarted = registry(true);
+        assertEquals(rotated.getKid(), restarted.activeKey().getKid());
+        restarted.parser().parseSignedClaims(afterRotation);
+    }
+
+    @Test
+    void retiredKeysStopValidatingOnceTheirWindowHasPassed() {
+        SigningKeyRegistry node = registry(true);
+        String beforeRotation = token(node);
+        node.rotate();
+        sharedState.put("default", Long.toString(System.currentTimeMillis() - 1));
+
+        SigningKeyRegistry restarted = registry(true);
+
+        assertThrows(JwtException.class, () -> restarted.parser().parseSignedClaims(beforeRotation));
+    }
+
+    @Test
+    void refusesRotationWithoutSharedState() {
+        SigningKeyRegistry node = registry(false);
+
+        assertThrows(IllegalStateException.class, node::rotate);
+        assertEquals("default", node.activeKey().getKid());
+    }
+
+    private SigningKeyRegistry registry(boolean shared) {
+        SigningKeyRegistry registry = new SigningKeyRegistry();
+        ReflectionTestUtils.setField(registry, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(registry, "shared", shared);
+        ReflectionTestUtils.setField(registry, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(registry, "defaultKid", "default");
+        ReflectionTestUtils.setField(registry, "retiredKeys", "");
+        ReflectionTestUtils.setField(registry, "jwtRefreshExpirationMs", 60_000L);
+        registry.init();
+        return registry;
+    }
+
+    private static String token(SigningKeyRegistry registry) {
+        SigningKeyRegistry.SigningKey key = registry.activeKey();
+        return Jwts.builder().header().keyId(key.getKid()).and()
+            .subject("alice")
+            .signWith(key.getKey())
+            .compact();
+    }
+}
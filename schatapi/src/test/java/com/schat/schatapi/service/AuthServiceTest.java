@@ -0,0 +1,69 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.model.RefreshToken;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.security.AccountStatusRegistry;
+import com.schat.schatapi.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("alice", "alice@example.com", "hash");
+        user.setId(7L);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(1));
+        when(refreshTokenService.findByToken("refresh")).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenService.verifyExpiration(refreshToken)).thenReturn(refreshToken);
+    }
+
+    @Test
+    void refreshIsRefusedForDeactivatedUsers() {
+        user.setActive(false);
+
+        assertThrows(RuntimeException.class, () -> authService.refreshToken("refresh"));
+        verify(refreshTokenService).deleteByUserId(7L);
+        verify(jwtUtils, never()).generateJwtTokenAsync(any(UserDetailsImpl.class));
+    }
+
+    @Test
+    void refreshIsRefusedWhenTheStatusVersionMovedOn() {
+        user.setActive(true);
+        when(accountStatusRegistry.isCurrent(7L, 0L)).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> authService.refreshToken("refresh"));
+        verify(refreshTokenService).deleteByUserId(7L);
+        verify(jwtUtils, never()).generateJwtTokenAsync(any(UserDetailsImpl.class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.dto.UpdateProfileRequest;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.repository.UserRepository;
+import com.schat.schatapi.security.AccountStatusRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AccountStatusRegistry accountStatusRegistry;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private final CachingUserDetailsService cachingService = new CachingUserDetailsService();
+    private final UserService userService = new UserService();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsServiceImpl delegate = new UserDetailsServiceImpl();
+        delegate.userRepository = userRepository;
+        ReflectionTestUtils.setField(cachingService, "delegate", delegate);
+        ReflectionTestUtils.setField(cachingService, "enabled", true);
+        ReflectionTestUtils.setField(cachingService, "maxSize", 100);
+        ReflectionTestUtils.setField(cachingService, "ttlMs", 60_000L);
+        cachingService.init();
+
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(userService, "accountStatusRegistry", accountStatusRegistry);
+        ReflectionTestUtils.setField(userService, "userDetailsService", cachingService);
+        ReflectionTestUtils.setField(userService, "refreshTokenService", refreshTokenService);
+
+        user = new User("alice", "alice@example.com", "old-hash");
+        user.setId(7L);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void servesCachedDetailsUntilEvicted() {
+        cachingService.loadUserByUsername("alice");
+        // Changed behind UserService's back: only the TTL would catch this..
+        user.setEmail("elsewhere@example.com");
+
+        assertEquals("alice@example.com", details().getEmail());
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void reloadsAfterAnEmailChange() {
+        cachingService.loadUserByUsername("alice");
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setEmail("alice@new.example.com");
+
+        userService.updateUserProfile("alice", request);
+
+        assertEquals("alice@new.example.com", details().getEmail());
+    }
+
+    @Test
+    void reloadsAfterAPasswordChange() {
+        cachingService.loadUserByUsername("alice");
+        when(passwordEncoder.matches("old", "old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("new")).thenReturn("new-hash");
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setCurrentPassword("old");
+        request.setNewPassword("new");
+
+        userService.updateUserProfile("alice", request);
+
+        assertEquals("new-hash", details().getPassword());
+    }
+
+    @Test
+    void reloadsAfterDeactivationAndReactivation() {
+        assertTrue(details().isEnabled());
+
+        userService.setUserActive("alice", false);
+        assertFalse(details().isEnabled());
+
+        userService.setUserActive("alice", true);
+        assertTrue(details().isEnabled());
+    }
+
+    @Test
+    void unknownUsernamesAreNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cachingService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> cachingService.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+        cachingService.loadUserByUsername("alice");
+        assertEquals(1, cachingService.stats().getSize());
+    }
+
+    private UserDetailsImpl details() {
+        return (UserDetailsImpl) cachingService.loadUserByUsername("alice");
+    }
+}
@@ -0,0 +1,253 @@
+package com.schat.schatapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schat.schatapi.dto.MessageCursor;
+import com.schat.schatapi.dto.MessagePage;
+import com.schat.schatapi.dto.MessageView;
+import com.schat.schatapi.model.Message;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.repository.MessageRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private RecentMessageBuffer recentMessageBuffer;
+
+    @Mock
+    private MessageIdAllocator messageIdAllocator;
+
+    @Mock
+    private MessageWriteBehind messageWriteBehind;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private MessageService messageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(messageService, "defaultPageSize", 3);
+        ReflectionTestUtils.setField(messageService, "maxPageSize", 5);
+    }
+
+    @Test
+    void latestPageComesOldestFirstWithCursors() {
+        // limit 3 fetches 4 rows, newest first..
+        when(recentMessageBuffer.latest("lobby", 4)).thenReturn(null);
+        List<MessageView> rows = newestFirst(10, 4);
+        when(messageRepository.findLatest("lobby", PageRequest.of(0, 4))).thenReturn(rows);
+
+        MessagePage<MessageView> page = messageService.getHistory("lobby", null, null, null);
+
+        assertEquals(List.of(8L, 9L, 10L), ids(page.getMessages()));
+        assertTrue(page.isHasMore());
+        assertEquals(8L, MessageCursor.decode(page.getBefore()).getId());
+        assertEquals(10L, MessageCursor.decode(page.getAfter()).getId());
+    }
+
+    @Test
+    void aDatabasePageIsNotBuffered() {
+        // Message 11 is still queued for write-behind, so the database page lacks it..
+        when(recentMessageBuffer.latest("lobby", 4)).thenReturn(null);
+        when(messageRepository.findLatest("lobby", PageRequest.of(0, 4))).thenReturn(newestFirst(10, 4));
+
+        messageService.getHistory("lobby", null, null, null);
+
+        verify(recentMessageBuffer).latest("lobby", 4);
+        verifyNoMoreInteractions(recentMessageBuffer);
+    }
+
+    @Test
+    void aWholeShortRoomHasNoOlderCursor() {
+        when(recentMessageBuffer.latest("lobby", 4)).thenReturn(null);
+        when(messageRepository.findLatest("lobby", PageRequest.of(0, 4))).thenReturn(newestFirst(2, 2));
+
+        MessagePage<MessageView> page = messageService.getHistory("lobby", null, null, null);
+
+        assertEquals(List.of(1L, 2L), ids(page.getMessages()));
+        assertFalse(page.isHasMore());
+        assertNull(page.getBefore());
+    }
+
+    @Test
+    void latestPageIsServedFromTheBufferWhenItCan() {
+        when(recentMessageBuffer.latest("lobby", 4)).thenReturn(newestFirst(10, 4));
+
+        MessagePage<MessageView> page = messageService.getHistory("lobby", null, null, null);
+
+        assertEquals(List.of(8L, 9L, 10L), ids(page.getMessages()));
+        verify(messageRepository, never()).findLatest(any(), any());
+    }
+
+    @Test
+    void pagesBackwardsAndForwardsFromACursor() {
+        MessageCursor cursor = new MessageCursor(START.plusSeconds(5), 5L);
+        when(messageRepository.findBefore("lobby", cursor.getTimestamp(), 5L, PageRequest.of(0, 3)))
+            .thenReturn(newestFirst(4, 2));
+        when(messageRepository.findAfter("lobby", cursor.getTimestamp(), 5L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(message(6), message(7), message(8)));
+
+        MessagePage<MessageView> older = messageService.getHistory("lobby", cursor.encode(), null, 2);
+        MessagePage<MessageView> newer = messageService.getHistory("lobby", null, cursor.encode(), 2);
+
+        assertEquals(List.of(3L, 4L), ids(older.getMessages()));
+        assertFalse(older.isHasMore());
+        assertEquals(List.of(6L, 7L), ids(newer.getMessages()));
+        assertTrue(newer.isHasMore());
+        assertEquals(6L, MessageCursor.decode(newer.getBefore()).getId());
+    }
+
+    @Test
+    void clampsTheLimitAndRefusesBothDirections() {
+        when(recentMessageBuffer.latest("lobby", 6)).thenReturn(null);
+        when(messageRepository.findLatest("lobby", PageRequest.of(0, 6))).thenReturn(List.of());
+
+        messageService.getHistory("lobby", null, null, 1_000);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> messageService.getHistory("lobby", "a", "b", null));
+        assertThrows(IllegalArgumentException.class,
+            () -> messageService.getHistory("lobby", "garbage!", null, null));
+    }
+
+    @Test
+    void submitStampsServerTimeOverTheClientsTimestamp() {
+        when(messageIdAllocator.nextId()).thenReturn(42L);
+        User sender = new User();
+        sender.setId(7L);
+        Message message = new Message();
+        message.setSender(sender);
+        message.setRoomId("lobby");
+        message.setTimestamp(LocalDateTime.of(1999, 1, 1, 0, 0));
+        LocalDateTime before = LocalDateTime.now();
+
+        MessageView view = messageService.submit(message);
+
+        assertEquals(42L, view.getId());
+        assertFalse(view.getTimestamp().isBefore(before));
+        verify(recentMessageBuffer).append(view);
+        verify(messageWriteBehind).submit(message);
+    }
+
+    @Test
+    void exportsOneEscapedObjectPerLine() throws Exception {
+        List<String> contents = List.of("plain", "say \"hi\"", "two\nlines\r\tand \\ é");
+        List<Message> rows = new ArrayList<>();
+        for (int i = 0; i < contents.size(); i++) {
+            rows.add(entity(i + 1, contents.get(i)));
+        }
+        when(messageRepository.streamByRoomId("lobby")).thenReturn(rows.stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, messageService.exportHistory("lobby", out));
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.substring(0, ndjson.length() - 1).split("\n", -1);
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = mapper.readTree(lines[i]);
+            assertEquals(i + 1, line.get("id").asLong());
+            assertEquals("lobby", line.get("roomId").asText());
+            assertEquals(7L, line.get("senderId").asLong());
+            assertEquals("alice", line.get("sender").asText());
+            assertEquals(contents.get(i), line.get("content").asText());
+            assertEquals(String.valueOf(START.plusSeconds(i + 1)), line.get("timestamp").asText());
+        }
+    }
+
+    @Test
+    void exportsNothingForAnEmptyRoom() throws Exception {
+        when(messageRepository.streamByRoomId("empty")).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, messageService.exportHistory("empty", out));
+
+        assertEquals(0, out.size());
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void clearsThePersistenceContextEveryBatch() throws Exception {
+        int batch = (Integer) ReflectionTestUtils.getField(MessageService.class, "EXPORT_BATCH_ROWS");
+        long total = 2L * batch + batch / 2;
+        when(messageRepository.streamByRoomId("lobby"))
+            .thenReturn(LongStream.rangeClosed(1, total).mapToObj(id -> entity(id, "m" + id)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(total, messageService.exportHistory("lobby", out));
+
+        verify(entityManager, times(2)).clear();
+        assertEquals(total, out.toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count());
+    }
+
+    private static Message entity(long id, String content) {
+        User sender = new User();
+        sender.setId(7L);
+        sender.setUsername("alice");
+        Message message = new Message();
+        message.setId(id);
+        message.setRoomId("lobby");
+        message.setContent(content);
+        message.setSender(sender);
+        message.setTimestamp(START.plusSeconds(id));
+        return message;
+    }
+
+    private static List<MessageView> newestFirst(long newestId, int count) {
+        List<MessageView> rows = new ArrayList<>();
+        for (long id = newestId; id > newestId - count; id--) {
+            rows.add(message(id));
+        }
+        return rows;
+    }
+
+    private static MessageView message(long id) {
+        return new MessageView(id, "lobby", "m" + id, START.plusSeconds(id), 7L, "alice");
+    }
+
+    private static List<Long> ids(List<MessageView> messages) {
+        List<Long> ids = new ArrayList<>();
+        for (MessageView message : messages) {
+            ids.add(message.getId());
+        }
+        return ids;
+    }
+}
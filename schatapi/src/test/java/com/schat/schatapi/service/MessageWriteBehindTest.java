@@ -0,0 +1,103 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.model.Message;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MessageWriteBehindTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private MessageWriteBehind writeBehind;
+
+    private final Set<Long> persisted = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "capacity", 64);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 16);
+        ReflectionTestUtils.setField(writeBehind, "offerTimeoutMs", 5L);
+        doAnswer(call -> {
+            call.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(call -> {
+            persisted.add(call.<Message>getArgument(0).getId());
+            return null;
+        }).when(entityManager).persist(any(Message.class));
+    }
+
+    @Test
+    void persistsEveryMessageSubmittedWhileStopping() throws Exception {
+        ReflectionTestUtils.setField(writeBehind, "windowMs", 1L);
+        writeBehind.start();
+        AtomicLong ids = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < 2_000; i++) {
+                    Message message = new Message();
+                    message.setId(ids.incrementAndGet());
+                    writeBehind.submit(message);
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        started.await();
+
+        writeBehind.stop();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(8_000, persisted.size());
+    }
+
+    @Test
+    void flushesTheBatchBeingGatheredOnStop() throws Exception {
+        // A window far longer than the test: the message sits in the writer's batch..
+        ReflectionTestUtils.setField(writeBehind, "windowMs", 60_000L);
+        writeBehind.start();
+        Message message = new Message();
+        message.setId(1L);
+        writeBehind.submit(message);
+        Thread.sleep(50);
+
+        writeBehind.stop();
+
+        assertEquals(Set.of(1L), persisted);
+    }
+}
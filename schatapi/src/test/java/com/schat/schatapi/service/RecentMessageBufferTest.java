@@ -0,0 +1,91 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.dto.MessageView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecentMessageBufferTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final RecentMessageBuffer buffer = new RecentMessageBuffer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(buffer, "capacity", 4);
+        ReflectionTestUtils.setField(buffer, "maxRooms", 2);
+        ReflectionTestUtils.setField(buffer, "idleMs", 60_000L);
+    }
+
+    @Test
+    void answersOnceItHoldsEnoughMessages() {
+        buffer.append(message(1));
+        buffer.append(message(2));
+        assertNull(buffer.latest("lobby", 3));
+
+        buffer.append(message(3));
+        buffer.append(message(4));
+        buffer.append(message(5));
+
+        assertEquals(List.of(5L, 4L, 3L), ids(buffer.latest("lobby", 3)));
+        assertNull(buffer.latest("lobby", 5), "more than capacity goes to the database");
+    }
+
+    @Test
+    void aRingStartedAfterAClearOnlyAnswersFromItsOwnMessages() {
+        for (long id = 1; id <= 4; id++) {
+            buffer.append(message(id));
+        }
+        // Relayed messages may have been lost; 5 and 6 are written meanwhile, then 7 arrives..
+        buffer.clear();
+        buffer.append(message(7));
+
+        assertNull(buffer.latest("lobby", 3), "a ring holding only 7 can't know what precedes it");
+        buffer.append(message(8));
+        buffer.append(message(9));
+        assertEquals(List.of(9L, 8L, 7L), ids(buffer.latest("lobby", 3)));
+    }
+
+    @Test
+    void clearDropsEveryRoom() {
+        buffer.append(message(1));
+
+        buffer.clear();
+
+        assertEquals(0, buffer.activeRooms());
+        assertNull(buffer.latest("lobby", 1));
+    }
+
+    @Test
+    void keepsAtMostMaxRooms() {
+        buffer.append(message(1, "a"));
+        buffer.append(message(2, "b"));
+        buffer.append(message(3, "c"));
+
+        assertEquals(2, buffer.activeRooms());
+        assertNull(buffer.latest("c", 1));
+    }
+
+    private static MessageView message(long id) {
+        return message(id, "lobby");
+    }
+
+    private static MessageView message(long id, String roomId) {
+        return new MessageView(id, roomId, "m" + id, START.plusSeconds(id), 7L, "alice");
+    }
+
+    private static List<Long> ids(List<MessageView> messages) {
+        List<Long> ids = new ArrayList<>();
+        for (MessageView message : messages) {
+            ids.add(message.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,130 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.model.RefreshToken;
+import com.schat.schatapi.model.User;
+import com.schat.schatapi.repository.RefreshTokenRepository;
+import com.schat.schatapi.repository.UserRepository;
+import com.schat.schatapi.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenDurationMs", 86_400_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(refreshTokenService, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "sweepBatchSize", 10);
+        refreshTokenService.init();
+    }
+
+    @Test
+    void persistsOnlyTheHashAndFindsByTheRawToken() {
+        when(userRepository.getReferenceById(7L)).thenReturn(new User());
+
+        String token = refreshTokenService.createRefreshToken(7L);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        String hash = saved.getValue().getTokenHash();
+        assertEquals(HexFormat.of().formatHex(VerifiedTokenCache.sha256(token)), hash);
+        assertFalse(hash.contains(token));
+
+        when(refreshTokenRepository.findByTokenHash(hash)).thenReturn(Optional.of(saved.getValue()));
+        assertSame(saved.getValue(), refreshTokenService.findByToken(token).orElseThrow());
+        assertSame(saved.getValue(), refreshTokenService.findByToken(token).orElseThrow());
+        // The second lookup came from the cache..
+        verify(refreshTokenRepository, times(1)).findByTokenHash(hash);
+    }
+
+    @Test
+    void anExpiredTokenIsDeletedAndEvicted() {
+        RefreshToken expired = token("expired", LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(expired.getTokenHash()))
+            .thenReturn(Optional.of(expired), Optional.empty());
+
+        RefreshToken found = refreshTokenService.findByToken("expired").orElseThrow();
+        assertThrows(RuntimeException.class, () -> refreshTokenService.verifyExpiration(found));
+
+        verify(refreshTokenRepository).deleteById(expired.getId());
+        assertTrue(refreshTokenService.findByToken("expired").isEmpty());
+        verify(refreshTokenRepository, times(2)).findByTokenHash(expired.getTokenHash());
+    }
+
+    @Test
+    void deletingAUsersTokensEvictsThem() {
+        RefreshToken live = token("live", LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(live.getTokenHash()))
+            .thenReturn(Optional.of(live), Optional.empty());
+        when(refreshTokenRepository.findTokenHashesByUserId(7L)).thenReturn(List.of(live.getTokenHash()));
+        when(userRepository.getReferenceById(7L)).thenReturn(live.getUser());
+
+        assertTrue(refreshTokenService.findByToken("live").isPresent());
+        refreshTokenService.deleteByUserId(7L);
+
+        verify(refreshTokenRepository).deleteByUser(live.getUser());
+        assertTrue(refreshTokenService.findByToken("live").isEmpty());
+    }
+
+    @Test
+    void sweepsInBatchesUntilAShortOne() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(10))).thenReturn(10, 10, 3);
+
+        refreshTokenService.sweepExpired();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(10));
+    }
+
+    @Test
+    void aSweepWithNothingExpiredRunsOnce() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(10))).thenReturn(0);
+
+        refreshTokenService.sweepExpired();
+
+        verify(refreshTokenRepository, times(1)).deleteExpiredBatch(any(LocalDateTime.class), eq(10));
+    }
+
+    private static RefreshToken token(String raw, LocalDateTime expiry) {
+        User user = new User("alice", "alice@example.com", "hash");
+        user.setId(7L);
+        RefreshToken token = new RefreshToken();
+        token.setId(42L);
+        token.setUser(user);
+        token.setTokenHash(HexFormat.of().formatHex(VerifiedTokenCache.sha256(raw)));
+        token.setExpiryDate(expiry);
+        return token;
+    }
+}
@@ -0,0 +1,108 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.dto.MessageView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomMessageRelayTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private RecentMessageBuffer recentMessageBuffer;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @InjectMocks
+    private RoomMessageRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "dedupMaxSize", 1000);
+        ReflectionTestUtils.setField(relay, "dedupTtlMs", 60_000L);
+        relay.init();
+    }
+
+    @Test
+    void deliversARelayedMessageOnce() {
+        DefaultMessage relayed = relayed("other-node", 42L);
+
+        relay.onMessage(relayed, null);
+        relay.onMessage(relayed, null);
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/rooms/lobby"), any(MessageView.class));
+        verify(recentMessageBuffer, times(1)).append(any(MessageView.class));
+    }
+
+    @Test
+    void skipsMessagesAlreadyDeliveredLocally() {
+        relay.publish(view(42L));
+
+        relay.onMessage(relayed("other-node", 42L), null);
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/rooms/lobby"), any(MessageView.class));
+        verify(recentMessageBuffer, never()).append(any(MessageView.class));
+    }
+
+    @Test
+    void skipsOwnEcho() {
+        String nodeId = (String) ReflectionTestUtils.getField(relay, "nodeId");
+
+        relay.onMessage(relayed(nodeId, 42L), null);
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(MessageView.class));
+    }
+
+    @Test
+    void dropsRecentRingsWhenAPublishFails() {
+        when(redisTemplate.convertAndSend(anyString(), anyString()))
+            .thenThrow(new RedisConnectionFailureException("down"));
+
+        relay.publish(view(42L));
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/rooms/lobby"), any(MessageView.class));
+        verify(recentMessageBuffer).clear();
+    }
+
+    @Test
+    void dropsRecentRingsOnResubscribe() {
+        relay.onPatternSubscribed((RoomMessageRelay.CHANNEL_PREFIX + "*").getBytes(StandardCharsets.UTF_8), 1);
+
+        verify(recentMessageBuffer).clear();
+    }
+
+    private static MessageView view(long id) {
+        return new MessageView(id, "lobby", "hi", LocalDateTime.of(2026, 1, 1, 12, 0), 7L, "alice");
+    }
+
+    private static DefaultMessage relayed(String origin, long id) {
+        String body = "{\"origin\":\"" + origin + "\",\"id\":" + id + ",\"roomId\":\"lobby\",\"content\":\"hi\","
+            + "\"timestamp\":\"2026-01-01T12:00\",\"senderId\":7,\"senderUsername\":\"alice\"}";
+        return new DefaultMessage((RoomMessageRelay.CHANNEL_PREFIX + "lobby").getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
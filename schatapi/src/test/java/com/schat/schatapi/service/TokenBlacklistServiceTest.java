@@ -0,0 +1,122 @@
+package com.schat.schatapi.service;
+
+import com.schat.schatapi.cache.BloomFilter;
+import com.schat.schatapi.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @InjectMocks
+    private TokenBlacklistService blacklist;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(blacklist, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(blacklist, "falsePositiveRate", 0.001);
+    }
+
+    @Test
+    void revokesLocallyUntilExpiry() throws Exception {
+        blacklist.init();
+        blacklist.revoke("revoked", System.currentTimeMillis() + 60_000);
+        blacklist.revoke("short-lived", System.currentTimeMillis() + 30);
+        blacklist.revoke("already-expired", System.currentTimeMillis() - 1);
+
+        assertTrue(blacklist.isRevoked("revoked"));
+        assertTrue(blacklist.isRevoked("short-lived"));
+        assertFalse(blacklist.isRevoked("already-expired"));
+        assertFalse(blacklist.isRevoked("never-revoked"));
+
+        Thread.sleep(60);
+        blacklist.rebuild();
+
+        assertTrue(blacklist.isRevoked("revoked"));
+        assertFalse(blacklist.isRevoked("short-lived"));
+    }
+
+    @Test
+    void learnsRevocationsFromOtherNodes() {
+        ReflectionTestUtils.setField(blacklist, "shared", true);
+        ReflectionTestUtils.setField(blacklist, "filter",
+            new BloomFilter(1000, 0.001));
+        String key = Base64.getUrlEncoder().withoutPadding().encodeToString(VerifiedTokenCache.sha256("remote"));
+        when(redisTemplate.hasKey("schat:revoked:" + key)).thenReturn(true);
+
+        assertFalse(blacklist.isRevoked("remote"));
+        blacklist.onMessage(new DefaultMessage(TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            key.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(blacklist.isRevoked("remote"));
+    }
+
+    @Test
+    void unrevokedTokensNeverReachRedis() {
+        ReflectionTestUtils.setField(blacklist, "shared", true);
+        ReflectionTestUtils.setField(blacklist, "filter",
+            new BloomFilter(1000, 0.001));
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(blacklist.isRevoked("token-" + i));
+        }
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void checksAnAlreadyComputedHash() {
+        blacklist.init();
+        blacklist.revoke("revoked", System.currentTimeMillis() + 60_000);
+
+        assertTrue(blacklist.isRevoked(VerifiedTokenCache.sha256("revoked")));
+        assertFalse(blacklist.isRevoked(VerifiedTokenCache.sha256("other")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reloadsWhenResubscribed() throws Exception {
+        ReflectionTestUtils.setField(blacklist, "shared", true);
+        ReflectionTestUtils.setField(blacklist, "filter",
+            new BloomFilter(1000, 0.001));
+        String key = Base64.getUrlEncoder().withoutPadding().encodeToString(VerifiedTokenCache.sha256("missed"));
+        Cursor<String> keys = mock(Cursor.class);
+        when(keys.hasNext()).thenReturn(true, false);
+        when(keys.next()).thenReturn("schat:revoked:" + key);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(keys);
+        when(redisTemplate.hasKey("schat:revoked:" + key)).thenReturn(true);
+
+        // A revocation published while the subscription was down..
+        blacklist.onChannelSubscribed(TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8), 1);
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!blacklist.isRevoked("missed") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(blacklist.isRevoked("missed"));
+        verify(keys).close();
+    }
+}
@@ -0,0 +1,110 @@
+package com.schat.schatapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenIssuanceBatcherTest {
+
+    @Mock
+    private ThresholdTokenService thresholdTokenService;
+
+    @InjectMocks
+    private TokenIssuanceBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 64);
+        when(thresholdTokenService.signTokenAsync(anyString()))
+            .thenAnswer(call -> CompletableFuture.completedFuture(call.getArgument(0) + "::alone"));
+        when(thresholdTokenService.signTokenBatchAsync(anyList())).thenAnswer(call -> {
+            List<String> signed = new ArrayList<>();
+            for (Object token : call.<List<?>>getArgument(0)) {
+                signed.add(token + "::batch");
+            }
+            return CompletableFuture.completedFuture(signed);
+        });
+    }
+
+    @Test
+    void gathersConcurrentRequestsIntoOneBatch() throws Exception {
+        ReflectionTestUtils.setField(batcher, "windowMs", 200L);
+        batcher.start();
+        try {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(batcher.submit("t" + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals("t" + i + "::batch", futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            verify(thresholdTokenService, atLeastOnce()).signTokenBatchAsync(anyList());
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    void stopAnswersTheBatchBeingGathered() throws Exception {
+        // A window far longer than the test: the request sits in the drainer's batch..
+        ReflectionTestUtils.setField(batcher, "windowMs", 60_000L);
+        batcher.start();
+        CompletableFuture<String> future = batcher.submit("pending");
+        Thread.sleep(50);
+
+        batcher.stop();
+
+        assertEquals("pending::alone", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void noRequestIsLostWhileStopping() throws Exception {
+        ReflectionTestUtils.setField(batcher, "windowMs", 1L);
+        batcher.start();
+        List<CompletableFuture<String>> futures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < 2_000; i++) {
+                    futures.add(batcher.submit("t" + i));
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        started.await();
+
+        batcher.stop();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(8_000, futures.size());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.core.SDithPartialSignature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Party running as a separate PartySigningServer process, reached over HTTP..
+ * Requests are signed with the secret shared with the parties (PartyRequestAuth)..
+ */
+public class HttpPartySigningClient implements PartySigningClient {
+    private final int partyIndex;
+    private final URI endpoint;
+    private final URI batchEndpoint;
+    private final PartyRequestAuth auth;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public HttpPartySigningClient(int partyIndex, URI baseUri, PartyRequestAuth auth,
+                                  HttpClient httpClient, Duration requestTimeout) {
+        this.partyIndex = partyIndex;
+        this.endpoint = baseUri.resolve(PartySigningServer.PARTIAL_PATH);
+        this.batchEndpoint = baseUri.resolve(PartySigningServer.PARTIALS_PATH);
+        this.auth = auth;
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public int getPartyIndex() {
+        return partyIndex;
+    }
+
+    @Override
+    public CompletableFuture<SDithPartialSignature> requestPartialSignature(byte[] message) {
+        try {
+            return post(endpoint, PartialSignatureCodec.encodeRequest(message))
+                .thenApply(body -> decode(() -> PartialSignatureCodec.decodeResponse(body)));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<SDithPartialSignature>> requestPartialSignatures(List<byte[]> messages) {
+        try {
+            return post(batchEndpoint, PartialSignatureCodec.encodeBatchRequest(messages))
+                .thenApply(body -> decode(() -> PartialSignatureCodec.decodeBatchResponse(body)));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<byte[]> post(URI uri, byte[] body) {
+        long timestamp = System.currentTimeMillis();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .header(PartyRequestAuth.TIMESTAMP_HEADER, Long.toString(timestamp))
+            .header(PartyRequestAuth.SIGNATURE_HEADER, auth.sign(timestamp, uri.getPath(), body))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(
+                        "Party " + partyIndex + " answered HTTP " + response.statusCode());
+                }
+                return response.body();
+            });
+    }
+
+    private static <T> T decode(Decoder<T> decoder) {
+        try {
+            return decoder.decode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface Decoder<T> {
+        T decode() throws IOException;
+    }
+
+    @Override
+    public String toString() {
+        return "party " + partyIndex + " at " + endpoint;
+    }
+}
@@ -0,0 +1,56 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.core.SDithKeyPair;
+import com.schat.signature.core.SDithPartialSignature;
+import com.schat.signature.core.SDithPrivateKeyShare;
+import com.schat.signature.core.SDithThresholdScheme;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * In-process party, for our own share or for simulated parties..
+ */
+public class LocalPartySigningClient implements PartySigningClient {
+    private final SDithPrivateKeyShare share;
+    private final BigInteger curveOrder;
+    private final Executor executor;
+
+    public LocalPartySigningClient(SDithKeyPair keyPair, Executor executor) {
+        this.share = keyPair.getPrivateKeyShare();
+        this.curveOrder = keyPair.getPublicKey().getCurveOrder();
+        this.executor = executor;
+    }
+
+    @Override
+    public int getPartyIndex() {
+        return share.getIndex();
+    }
+
+    @Override
+    public CompletableFuture<SDithPartialSignature> requestPartialSignature(byte[] message) {
+        return CompletableFuture.supplyAsync(() -> sign(message), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<SDithPartialSignature>> requestPartialSignatures(List<byte[]> messages) {
+        return CompletableFuture.supplyAsync(() -> signAll(messages), executor);
+    }
+
+    List<SDithPartialSignature> signAll(List<byte[]> messages) {
+        List<SDithPartialSignature> partials = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            partials.add(sign(message));
+        }
+        return partials;
+    }
+
+    SDithPartialSignature sign(byte[] message) {
+        BigInteger nonce = SDithThresholdScheme.generateDeterministicNonce(message, curveOrder);
+        return SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+            message, share.getShare(), share.getIndex(), nonce, curveOrder);
+    }
+}
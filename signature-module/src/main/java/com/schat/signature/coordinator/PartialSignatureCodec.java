@@ -0,0 +1,110 @@
+package com.schat.signature.coordinator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.schat.signature.core.SDithPartialSignature;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * JSON bodies exchanged between HttpPartySigningClient and PartySigningServer..
+ * Request: {"message": base64}. Response: {"index", "r", "s", "messageHash"} with hex numbers..
+ * Batches wrap these as {"messages": [...]} and {"partials": [...]}..
+ */
+final class PartialSignatureCodec {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private PartialSignatureCodec() {
+    }
+
+    static byte[] encodeRequest(byte[] message) throws IOException {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("message", Base64.getEncoder().encodeToString(message));
+        return mapper.writeValueAsBytes(node);
+    }
+
+    static byte[] decodeRequest(byte[] body) throws IOException {
+        JsonNode node = mapper.readTree(body);
+        if (node == null || !node.hasNonNull("message")) {
+            throw new IOException("Missing message");
+        }
+        return Base64.getDecoder().decode(node.get("message").asText());
+    }
+
+    static byte[] encodeBatchRequest(List<byte[]> messages) throws IOException {
+        ObjectNode node = mapper.createObjectNode();
+        ArrayNode array = node.putArray("messages");
+        for (byte[] message : messages) {
+            array.add(Base64.getEncoder().encodeToString(message));
+        }
+        return mapper.writeValueAsBytes(node);
+    }
+
+    static List<byte[]> decodeBatchRequest(byte[] body) throws IOException {
+        JsonNode node = mapper.readTree(body);
+        if (node == null || !node.path("messages").isArray()) {
+            throw new IOException("Missing messages");
+        }
+        List<byte[]> messages = new ArrayList<>(node.get("messages").size());
+        for (JsonNode message : node.get("messages")) {
+            messages.add(Base64.getDecoder().decode(message.asText()));
+        }
+        return messages;
+    }
+
+    static byte[] encodeResponse(SDithPartialSignature partial) throws IOException {
+        return mapper.writeValueAsBytes(toNode(partial));
+    }
+
+    static byte[] encodeBatchResponse(List<SDithPartialSignature> partials) throws IOException {
+        ObjectNode node = mapper.createObjectNode();
+        ArrayNode array = node.putArray("partials");
+        for (SDithPartialSignature partial : partials) {
+            array.add(toNode(partial));
+        }
+        return mapper.writeValueAsBytes(node);
+    }
+
+    static SDithPartialSignature decodeResponse(byte[] body) throws IOException {
+        return fromNode(mapper.readTree(body));
+    }
+
+    static List<SDithPartialSignature> decodeBatchResponse(byte[] body) throws IOException {
+        JsonNode node = mapper.readTree(body);
+        if (node == null || !node.path("partials").isArray()) {
+            throw new IOException("Malformed partial signature batch response");
+        }
+        List<SDithPartialSignature> partials = new ArrayList<>(node.get("partials").size());
+        for (JsonNode partial : node.get("partials")) {
+            partials.add(fromNode(partial));
+        }
+        return partials;
+    }
+
+    private static ObjectNode toNode(SDithPartialSignature partial) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("index", partial.getShareIndex());
+        node.put("r", partial.getR().toString(16));
+        node.put("s", partial.getS().toString(16));
+        node.put("messageHash", partial.getMessageHash().toString(16));
+        return node;
+    }
+
+    private static SDithPartialSignature fromNode(JsonNode node) throws IOException {
+        if (node == null || !node.hasNonNull("r") || !node.hasNonNull("s")) {
+            throw new IOException("Malformed partial signature response");
+        }
+        return new SDithPartialSignature(
+            new BigInteger(node.get("r").asText(), 16),
+            new BigInteger(node.get("s").asText(), 16),
+            node.path("index").asInt(),
+            node.hasNonNull("messageHash") ? new BigInteger(node.get("messageHash").asText(), 16) : null
+        );
+    }
+}
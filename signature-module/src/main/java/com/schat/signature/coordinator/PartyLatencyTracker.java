@@ -0,0 +1,118 @@
+package com.schat.signature.coordinator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-party latency as an exponentially weighted moving average, plus failure streaks..
+ * Used to send requests to the parties most likely to answer first..
+ */
+public class PartyLatencyTracker {
+    // Weight of the newest sample in the moving average..
+    private static final double ALPHA = 0.2;
+    // Ranking penalty per consecutive failure..
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final Map<Integer, PartyStats> stats = new ConcurrentHashMap<>();
+
+    public void recordSuccess(int partyIndex, long latencyNanos) {
+        stats.computeIfAbsent(partyIndex, i -> new PartyStats()).success(latencyNanos);
+    }
+
+    public void recordFailure(int partyIndex, long latencyNanos) {
+        stats.computeIfAbsent(partyIndex, i -> new PartyStats()).failure(latencyNanos);
+    }
+
+    /**
+     * A request abandoned once the quorum was complete; its elapsed time is a lower bound
+     * of the party's latency, which is still worth learning from..
+     */
+    public void recordAbandoned(int partyIndex, long elapsedNanos) {
+        stats.computeIfAbsent(partyIndex, i -> new PartyStats()).abandoned(elapsedNanos);
+    }
+
+    /**
+     * Parties ordered from most to least promising; unseen parties rank first so they get measured..
+     */
+    public List<PartySigningClient> rank(List<PartySigningClient> parties) {
+        // Scores are read once up front: other threads keep updating the stats, and a
+        // comparator seeing them change mid-sort breaks TimSort's contract..
+        List<Scored> scored = new ArrayList<>(parties.size());
+        for (PartySigningClient party : parties) {
+            scored.add(new Scored(party, score(party.getPartyIndex())));
+        }
+        scored.sort(Comparator.comparingLong(entry -> entry.score));
+
+        List<PartySigningClient> ranked = new ArrayList<>(scored.size());
+        for (Scored entry : scored) {
+            ranked.add(entry.party);
+        }
+        return ranked;
+    }
+
+    public double averageLatencyMillis(int partyIndex) {
+        PartyStats s = stats.get(partyIndex);
+        return s == null ? 0 : s.ewmaNanos() / 1_000_000.0;
+    }
+
+    public int consecutiveFailures(int partyIndex) {
+        PartyStats s = stats.get(partyIndex);
+        return s == null ? 0 : s.consecutiveFailures();
+    }
+
+    private long score(int partyIndex) {
+        PartyStats s = stats.get(partyIndex);
+        return s == null ? 0 : s.score();
+    }
+
+    private static final class Scored {
+        final PartySigningClient party;
+        final long score;
+
+        Scored(PartySigningClient party, long score) {
+            this.party = party;
+            this.score = score;
+        }
+    }
+
+    private static final class PartyStats {
+        private double ewmaNanos;
+        private int consecutiveFailures;
+        private boolean seeded;
+
+        synchronized void success(long latencyNanos) {
+            update(latencyNanos);
+            consecutiveFailures = 0;
+        }
+
+        synchronized void failure(long latencyNanos) {
+            update(latencyNanos);
+            consecutiveFailures++;
+        }
+
+        synchronized void abandoned(long elapsedNanos) {
+            update(elapsedNanos);
+        }
+
+        synchronized long score() {
+            return (long) ewmaNanos + consecutiveFailures * FAILURE_PENALTY_NANOS;
+        }
+
+        synchronized double ewmaNanos() {
+            return ewmaNanos;
+        }
+
+        synchronized int consecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        private void update(long latencyNanos) {
+            ewmaNanos = seeded ? ewmaNanos + ALPHA * (latencyNanos - ewmaNanos) : latencyNanos;
+            seeded = true;
+        }
+    }
+}
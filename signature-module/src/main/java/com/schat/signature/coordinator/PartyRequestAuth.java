@@ -0,0 +1,70 @@
+package com.schat.signature.coordinator;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Shared-secret HMAC-SHA256 over each party request (timestamp, path and body)..
+ * The client sends TIMESTAMP_HEADER and SIGNATURE_HEADER; the server recomputes the MAC and
+ * refuses requests older or newer than MAX_SKEW_MILLIS, so a captured request can't be replayed
+ * later. The secret (at least 32 bytes) is shared by the coordinator and every party..
+ */
+public final class PartyRequestAuth {
+    public static final String TIMESTAMP_HEADER = "X-Schat-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Schat-Signature";
+    public static final long MAX_SKEW_MILLIS = 30_000;
+    public static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+
+    public PartyRequestAuth(byte[] secret) {
+        if (secret == null || secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("Party secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), "HmacSHA256");
+    }
+
+    /**
+     * Secret given as text, e.g. from SCHAT_PARTY_SECRET or schat.threshold.partySecret..
+     */
+    public static PartyRequestAuth fromText(String secret) {
+        return new PartyRequestAuth(secret == null ? null : secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String sign(long timestampMillis, String path, byte[] body) {
+        return HexFormat.of().formatHex(mac(timestampMillis, path, body));
+    }
+
+    public boolean verify(String timestampHeader, String signatureHeader, String path, byte[] body) {
+        if (timestampHeader == null || signatureHeader == null) {
+            return false;
+        }
+        long timestamp;
+        byte[] signature;
+        try {
+            timestamp = Long.parseLong(timestampHeader);
+            signature = HexFormat.of().parseHex(signatureHeader);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestamp) > MAX_SKEW_MILLIS) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(timestamp, path, body), signature);
+    }
+
+    private byte[] mac(long timestampMillis, String path, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            mac.update((timestampMillis + "\n" + path + "\n").getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.core.SDithPartialSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One signing party as seen by the coordinator..
+ * The party derives the shared nonce from the message itself, so only the message travels..
+ */
+public interface PartySigningClient {
+
+    int getPartyIndex();
+
+    CompletableFuture<SDithPartialSignature> requestPartialSignature(byte[] message);
+
+    /**
+     * Partials for several messages, in message order..
+     * Defaults to one request per message; implementations should answer in one exchange..
+     */
+    default CompletableFuture<List<SDithPartialSignature>> requestPartialSignatures(List<byte[]> messages) {
+        List<CompletableFuture<SDithPartialSignature>> requests = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            requests.add(requestPartialSignature(message));
+        }
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+            .thenApply(done -> requests.stream().map(CompletableFuture::join).toList());
+    }
+}
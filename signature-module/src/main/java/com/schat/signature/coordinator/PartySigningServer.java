@@ -0,0 +1,165 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.core.SDithKeyGenerator;
+import com.schat.signature.core.SDithKeyPair;
+import com.schat.signature.core.SDithThresholdScheme;
+import com.schat.signature.util.KeyStorage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Standalone signing party holding one key share, answering POST /partial and POST /partials..
+ * Every request must carry a PartyRequestAuth HMAC made with the shared secret, bodies are
+ * capped at MAX_BODY_BYTES, and the server binds to loopback unless given another address..
+ *
+ * Usage:
+ *   deal &lt;threshold&gt; &lt;totalParties&gt; &lt;directory&gt;         writes party-&lt;i&gt;.json for every party
+ *   serve &lt;port&gt; &lt;shareFile&gt; [bindAddress]                serves partial signatures for that share
+ * serve reads the shared secret from the SCHAT_PARTY_SECRET environment variable..
+ */
+public class PartySigningServer implements AutoCloseable {
+    public static final String PARTIAL_PATH = "/partial";
+    public static final String PARTIALS_PATH = "/partials";
+    public static final String SECRET_ENV = "SCHAT_PARTY_SECRET";
+    // Far above a full issuance batch (64 JWTs), far below anything worth buffering..
+    public static final int MAX_BODY_BYTES = 1 << 20;
+
+    private final LocalPartySigningClient signer;
+    private final PartyRequestAuth auth;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public PartySigningServer(SDithKeyPair keyPair, PartyRequestAuth auth, InetSocketAddress address)
+            throws IOException {
+        this.signer = new LocalPartySigningClient(keyPair, Runnable::run);
+        this.auth = auth;
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext(PARTIAL_PATH, this::handlePartial);
+        this.server.createContext(PARTIALS_PATH, this::handlePartials);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handlePartial(HttpExchange exchange) throws IOException {
+        handle(exchange, body -> PartialSignatureCodec.encodeResponse(
+            signer.sign(PartialSignatureCodec.decodeRequest(body))));
+    }
+
+    private void handlePartials(HttpExchange exchange) throws IOException {
+        handle(exchange, body -> PartialSignatureCodec.encodeBatchResponse(
+            signer.signAll(PartialSignatureCodec.decodeBatchRequest(body))));
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = in.readNBytes(MAX_BODY_BYTES + 1);
+            }
+            if (request.length > MAX_BODY_BYTES) {
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+            if (!auth.verify(exchange.getRequestHeaders().getFirst(PartyRequestAuth.TIMESTAMP_HEADER),
+                             exchange.getRequestHeaders().getFirst(PartyRequestAuth.SIGNATURE_HEADER),
+                             exchange.getRequestURI().getPath(), request)) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+
+            byte[] body;
+            try {
+                body = handler.handle(request);
+            } catch (IOException | IllegalArgumentException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private interface Handler {
+        byte[] handle(byte[] requestBody) throws IOException;
+    }
+
+    /**
+     * Deals a fresh (t,n) key and writes one share file per party..
+     */
+    public static void deal(int threshold, int totalParties, File directory) throws IOException {
+        BigInteger curveOrder = SignatureConfig.DEFAULT_CURVE_ORDER;
+        SDithKeyGenerator keyGenerator = SDithThresholdScheme.generateKeyPair(threshold, totalParties, curveOrder);
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        for (int i = 1; i <= totalParties; i++) {
+            KeyStorage.saveKeyPair(keyGenerator.getKeyPairForParty(i),
+                new File(directory, shareFileName(i)).getPath());
+        }
+    }
+
+    public static String shareFileName(int partyIndex) {
+        return "party-" + partyIndex + ".json";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 4 && "deal".equals(args[0])) {
+            deal(Integer.parseInt(args[1]), Integer.parseInt(args[2]), new File(args[3]));
+            System.out.println("Wrote " + args[2] + " share files to " + args[3]);
+            return;
+        }
+        if ((args.length == 3 || args.length == 4) && "serve".equals(args[0])) {
+            String secret = System.getenv(SECRET_ENV);
+            if (secret == null || secret.isBlank()) {
+                System.err.println(SECRET_ENV + " must hold the secret shared with the coordinator");
+                System.exit(2);
+            }
+            SDithKeyPair keyPair = KeyStorage.loadKeyPair(args[2]);
+            InetAddress bindAddress = args.length == 4
+                ? InetAddress.getByName(args[3]) : InetAddress.getLoopbackAddress();
+            PartySigningServer server = new PartySigningServer(keyPair, PartyRequestAuth.fromText(secret),
+                new InetSocketAddress(bindAddress, Integer.parseInt(args[1])));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+            System.out.println("Party " + keyPair.getPrivateKeyShare().getIndex()
+                + " listening on " + bindAddress.getHostAddress() + ":" + server.getPort());
+            return;
+        }
+        System.err.println("Usage: deal <threshold> <totalParties> <directory> | serve <port> <shareFile> [bindAddress]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,308 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.core.SDithPartialSignature;
+import com.schat.signature.core.SDithPublicKey;
+import com.schat.signature.core.SDithSignature;
+import com.schat.signature.core.SDithThresholdScheme;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Collects t valid partial signatures from the parties in parallel..
+ *
+ * Requests go first to the t parties with the best latency record. Whenever a party fails
+ * or returns an invalid partial, the next party is asked at once; if the quorum is still
+ * incomplete after the hedge delay, one extra party is asked per missing partial that has no
+ * backup request in flight yet. The first t valid partials win and the rest are cancelled,
+ * so issuance latency follows the fastest t parties rather than the slowest..
+ */
+public class ThresholdSigningCoordinator implements AutoCloseable {
+    private final List<PartySigningClient> parties;
+    private final SDithPublicKey publicKey;
+    private final Duration hedgeDelay;
+    private final Duration timeout;
+    private final PartyLatencyTracker latencyTracker = new PartyLatencyTracker();
+    private final ScheduledExecutorService timer;
+
+    public ThresholdSigningCoordinator(List<PartySigningClient> parties, SDithPublicKey publicKey,
+                                       Duration hedgeDelay, Duration timeout) {
+        if (parties.size() < publicKey.getThreshold()) {
+            throw new IllegalArgumentException(
+                "Not enough parties for threshold. Required: " + publicKey.getThreshold()
+                + ", Configured: " + parties.size());
+        }
+        this.parties = List.copyOf(parties);
+        this.publicKey = publicKey;
+        this.hedgeDelay = hedgeDelay;
+        this.timeout = timeout;
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "threshold-coordinator-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.timer = executor;
+    }
+
+    /**
+     * To Collect the first t valid partial signatures for a message..
+     */
+    public CompletableFuture<List<SDithPartialSignature>> collectPartialSignatures(byte[] message) {
+        BigInteger expectedR = SDithThresholdScheme.nonceCommitment(message, publicKey.getCurveOrder());
+        QuorumRound<SDithPartialSignature> round = new QuorumRound<>(
+            latencyTracker.rank(parties),
+            party -> party.requestPartialSignature(message),
+            (party, partial) -> isValid(party, message, expectedR, partial));
+        round.start();
+        return round.result;
+    }
+
+    /**
+     * To Collect partial signatures for many messages in one exchange per party..
+     * A party's answer counts only if every partial in it is valid. Returns, per message,
+     * t partials from the same t parties in the same order, ready for combineSignatureBatch..
+     */
+    public CompletableFuture<List<List<SDithPartialSignature>>> collectPartialSignatureBatch(List<byte[]> messages) {
+        BigInteger[] expectedR = new BigInteger[messages.size()];
+        for (int i = 0; i < expectedR.length; i++) {
+            expectedR[i] = SDithThresholdScheme.nonceCommitment(messages.get(i), publicKey.getCurveOrder());
+        }
+        QuorumRound<List<SDithPartialSignature>> round = new QuorumRound<>(
+            latencyTracker.rank(parties),
+            party -> party.requestPartialSignatures(messages),
+            (party, partials) -> {
+                if (partials.size() != messages.size()) {
+                    return false;
+                }
+                for (int i = 0; i < partials.size(); i++) {
+                    if (!isValid(party, messages.get(i), expectedR[i], partials.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        round.start();
+
+        // Transposing party-major answers into message-major quorums..
+        return round.result.thenApply(perParty -> {
+            List<List<SDithPartialSignature>> perMessage = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                List<SDithPartialSignature> quorum = new ArrayList<>(perParty.size());
+                for (List<SDithPartialSignature> answer : perParty) {
+                    quorum.add(answer.get(i));
+                }
+                perMessage.add(quorum);
+            }
+            return perMessage;
+        });
+    }
+
+    /**
+     * To Collect a quorum and combine it into the final signature..
+     */
+    public CompletableFuture<SDithSignature> sign(byte[] message) {
+        return collectPartialSignatures(message)
+            .thenApply(partials -> SDithThresholdScheme.combineSignatures(partials, publicKey, message));
+    }
+
+    /**
+     * To Sign many messages with one quorum exchange and one Lagrange lookup..
+     */
+    public CompletableFuture<List<SDithSignature>> signBatch(List<byte[]> messages) {
+        return collectPartialSignatureBatch(messages)
+            .thenApply(partials -> SDithThresholdScheme.combineSignatureBatch(partials, publicKey));
+    }
+
+    public PartyLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    public List<PartySigningClient> getParties() {
+        return parties;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private boolean isValid(PartySigningClient party, byte[] message, BigInteger expectedR,
+                            SDithPartialSignature partial) {
+        if (partial == null || partial.getShareIndex() != party.getPartyIndex()) {
+            return false;
+        }
+        try {
+            return SDithThresholdScheme.verifyPartialSignature(
+                message, partial, expectedR, publicKey.getCurveOrder());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * State of one quorum collection, for a single message or a batch; mutable fields guarded by this..
+     */
+    private final class QuorumRound<T> {
+        final List<PartySigningClient> order;
+        final Function<PartySigningClient, CompletableFuture<T>> request;
+        final BiPredicate<PartySigningClient, T> validator;
+        final int threshold = publicKey.getThreshold();
+        final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        final List<T> accepted = new ArrayList<>();
+        final List<CompletableFuture<T>> inFlightRequests = new ArrayList<>();
+        int nextParty;
+        int inFlight;
+        ScheduledFuture<?> hedgeTimer;
+        ScheduledFuture<?> timeoutTimer;
+
+        QuorumRound(List<PartySigningClient> order, Function<PartySigningClient, CompletableFuture<T>> request,
+                    BiPredicate<PartySigningClient, T> validator) {
+            this.order = order;
+            this.request = request;
+            this.validator = validator;
+        }
+
+        void start() {
+            synchronized (this) {
+                timeoutTimer = timer.schedule(this::onTimeout, timeout.toNanos(), TimeUnit.NANOSECONDS);
+                scheduleHedge();
+            }
+            dispatch(threshold);
+        }
+
+        private void dispatch(int count) {
+            List<PartySigningClient> targets = new ArrayList<>(count);
+            synchronized (this) {
+                while (targets.size() < count && nextParty < order.size() && !result.isDone()) {
+                    targets.add(order.get(nextParty++));
+                    inFlight++;
+                }
+            }
+            for (PartySigningClient party : targets) {
+                long start = System.nanoTime();
+                CompletableFuture<T> pending;
+                try {
+                    pending = request.apply(party);
+                } catch (RuntimeException e) {
+                    pending = CompletableFuture.failedFuture(e);
+                }
+                synchronized (this) {
+                    inFlightRequests.add(pending);
+                }
+                pending.whenComplete((answer, error) -> onResponse(party, start, answer, error));
+            }
+        }
+
+        private void onResponse(PartySigningClient party, long start, T answer, Throwable error) {
+            long elapsed = System.nanoTime() - start;
+            boolean valid = error == null && answer != null && validate(party, answer);
+            if (valid) {
+                latencyTracker.recordSuccess(party.getPartyIndex(), elapsed);
+            } else if (result.isDone()) {
+                latencyTracker.recordAbandoned(party.getPartyIndex(), elapsed);
+            } else {
+                latencyTracker.recordFailure(party.getPartyIndex(), elapsed);
+            }
+
+            List<T> quorum = null;
+            boolean replace = false;
+            boolean exhausted = false;
+            synchronized (this) {
+                inFlight--;
+                if (result.isDone()) {
+                    return;
+                }
+                if (valid) {
+                    accepted.add(answer);
+                    if (accepted.size() == threshold) {
+                        quorum = List.copyOf(accepted);
+                    }
+                } else {
+                    replace = nextParty < order.size();
+                    exhausted = !replace && inFlight == 0;
+                }
+            }
+
+            if (quorum != null) {
+                if (result.complete(quorum)) {
+                    finish();
+                }
+            } else if (replace) {
+                dispatch(1);
+            } else if (exhausted) {
+                if (result.completeExceptionally(new IllegalStateException(
+                        "Only " + accepted.size() + " of " + threshold + " partial signatures could be collected"))) {
+                    finish();
+                }
+            }
+        }
+
+        private boolean validate(PartySigningClient party, T answer) {
+            try {
+                return validator.test(party, answer);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        private void onHedge() {
+            int hedges;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                // One backup per missing partial: requests in flight beyond the missing count are
+                // backups already, so a slow round doesn't fan out to every party tick after tick..
+                int missing = threshold - accepted.size();
+                int backupsInFlight = Math.max(0, inFlight - missing);
+                hedges = Math.max(0, missing - backupsInFlight);
+                scheduleHedge();
+            }
+            if (hedges > 0) {
+                dispatch(hedges);
+            }
+        }
+
+        private void onTimeout() {
+            if (result.completeExceptionally(new TimeoutException(
+                    "Threshold signing timed out after " + timeout.toMillis() + " ms"))) {
+                finish();
+            }
+        }
+
+        private synchronized void scheduleHedge() {
+            if (nextParty < order.size() || hedgeTimer == null) {
+                hedgeTimer = timer.schedule(this::onHedge, hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // Stops timers and cancels requests still running once the round is decided..
+        private void finish() {
+            List<CompletableFuture<T>> outstanding;
+            synchronized (this) {
+                if (hedgeTimer != null) {
+                    hedgeTimer.cancel(false);
+                }
+                if (timeoutTimer != null) {
+                    timeoutTimer.cancel(false);
+                }
+                outstanding = new ArrayList<>(inFlightRequests);
+            }
+            for (CompletableFuture<T> pending : outstanding) {
+                pending.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.schat.signature.core;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Fixed-base exponentiation with a precomputed comb table..
+ * table[w][d] = base^(d * 2^(w * WINDOW_BITS)) mod p, so base^e is one modular
+ * multiplication per non-zero window of e and no squarings at all..
+ * Entries are kept in Montgomery form over 64-bit limbs, which avoids the
+ * BigInteger division that would otherwise dominate every multiplication..
+ * Built once per modulus; immutable, so safe to share between threads..
+ */
+final class FixedBaseExponentiator {
+    private static final int WINDOW_BITS = 6;
+    private static final int WINDOW_SIZE = 1 << WINDOW_BITS;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private final BigInteger base;
+    private final BigInteger modulus;
+    private final int exponentBits;
+    private final int limbs;
+    private final long[] modulusLimbs;
+    private final long modulusInverse; // -p^-1 mod 2^64 ..
+    private final long[] montgomeryOne; // R mod p ..
+    private final long[][][] table;
+    // Exponents can be reduced mod (p - 1) when p is prime (Fermat), null otherwise..
+    private final BigInteger exponentModulus;
+
+    FixedBaseExponentiator(BigInteger base, BigInteger modulus) {
+        if (modulus.signum() <= 0 || !modulus.testBit(0)) {
+            throw new IllegalArgumentException("Fixed-base tables need an odd positive modulus");
+        }
+        this.base = base;
+        this.modulus = modulus;
+        this.exponentBits = modulus.bitLength();
+        this.exponentModulus = modulus.isProbablePrime(64) ? modulus.subtract(BigInteger.ONE) : null;
+
+        this.limbs = (exponentBits + 63) / 64;
+        this.modulusLimbs = toLimbs(modulus, limbs);
+        this.modulusInverse = negativeInverse(modulusLimbs[0]);
+        this.montgomeryOne = toMontgomery(BigInteger.ONE);
+
+        int windows = (exponentBits + WINDOW_BITS - 1) / WINDOW_BITS;
+        this.table = new long[windows][WINDOW_SIZE][];
+
+        BigInteger windowBase = base.mod(modulus); // base^(2^(w * WINDOW_BITS))..
+        for (int w = 0; w < windows; w++) {
+            BigInteger entry = BigInteger.ONE;
+            for (int d = 0; d < WINDOW_SIZE; d++) {
+                table[w][d] = toMontgomery(entry);
+                entry = entry.multiply(windowBase).mod(modulus);
+            }
+            windowBase = entry;
+        }
+    }
+
+    /**
+     * base^exponent mod p ..
+     */
+    BigInteger pow(BigInteger exponent) {
+        if (exponent.signum() < 0 || exponent.bitLength() > exponentBits) {
+            return base.modPow(exponent, modulus);
+        }
+        long[] scratch = new long[limbs + 2];
+        long[] result = evaluate(toLimbs(exponent, limbs), montgomeryOne.clone(), scratch);
+        return fromMontgomery(result, scratch);
+    }
+
+    /**
+     * Checks base^s == r * base^e (mod p), the two-term verification equation..
+     * Both terms share the base, so for a prime modulus the equation collapses to
+     * base^((s - e) mod (p - 1)) == r, a single table evaluation. Otherwise both
+     * powers are evaluated simultaneously in one pass over the windows..
+     */
+    boolean verifiesRelation(BigInteger s, BigInteger r, BigInteger e) {
+        if (exponentModulus != null) {
+            return pow(s.subtract(e).mod(exponentModulus)).equals(r.mod(modulus));
+        }
+        if (s.signum() < 0 || e.signum() < 0
+                || s.bitLength() > exponentBits || e.bitLength() > exponentBits) {
+            BigInteger right = r.multiply(base.modPow(e, modulus)).mod(modulus);
+            return base.modPow(s, modulus).equals(right);
+        }
+
+        long[] sLimbs = toLimbs(s, limbs);
+        long[] eLimbs = toLimbs(e, limbs);
+        long[] scratch = new long[limbs + 2];
+        long[] left = montgomeryOne.clone();
+        long[] right = toMontgomery(r.mod(modulus));
+        for (int w = 0; w < table.length; w++) {
+            int sDigit = windowDigit(sLimbs, w);
+            if (sDigit != 0) {
+                montgomeryMultiply(left, table[w][sDigit], scratch);
+            }
+            int eDigit = windowDigit(eLimbs, w);
+            if (eDigit != 0) {
+                montgomeryMultiply(right, table[w][eDigit], scratch);
+            }
+        }
+        // Montgomery form is a bijection, so the results can be compared as they are..
+        return Arrays.equals(left, right);
+    }
+
+    private long[] evaluate(long[] exponent, long[] accumulator, long[] scratch) {
+        for (int w = 0; w < table.length; w++) {
+            int digit = windowDigit(exponent, w);
+            if (digit != 0) {
+                montgomeryMultiply(accumulator, table[w][digit], scratch);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * a = a * b * R^-1 mod p (CIOS Montgomery multiplication), both operands fully reduced..
+     */
+    private void montgomeryMultiply(long[] a, long[] b, long[] t) {
+        int n = limbs;
+        Arrays.fill(t, 0L);
+        for (int i = 0; i < n; i++) {
+            // t += a * b[i] ..
+            long carry = 0;
+            long bi = b[i];
+            for (int j = 0; j < n; j++) {
+                long lo = a[j] * bi;
+                long hi = unsignedMultiplyHigh(a[j], bi);
+                long sum = t[j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, sum) < 0 ? 1 : 0;
+                t[j] = total;
+                carry = hi;
+            }
+            long top = t[n] + carry;
+            t[n + 1] = Long.compareUnsigned(top, carry) < 0 ? 1 : 0;
+            t[n] = top;
+
+            // t = (t + m * p) / 2^64 ..
+            long m = t[0] * modulusInverse;
+            long lo0 = m * modulusLimbs[0];
+            long sum0 = t[0] + lo0;
+            carry = unsignedMultiplyHigh(m, modulusLimbs[0]) + (Long.compareUnsigned(sum0, lo0) < 0 ? 1 : 0);
+            for (int j = 1; j < n; j++) {
+                long lo = m * modulusLimbs[j];
+                long hi = unsignedMultiplyHigh(m, modulusLimbs[j]);
+                long sum = t[j] + lo;
+                hi += Long.compareUnsigned(sum, lo) < 0 ? 1 : 0;
+                long total = sum + carry;
+                hi += Long.compareUnsigned(total, sum) < 0 ? 1 : 0;
+                t[j - 1] = total;
+                carry = hi;
+            }
+            long last = t[n] + carry;
+            t[n - 1] = last;
+            t[n] = t[n + 1] + (Long.compareUnsigned(last, carry) < 0 ? 1 : 0);
+        }
+
+        // Final conditional subtraction..
+        if (t[n] != 0 || compareLimbs(t, modulusLimbs, n) >= 0) {
+            long borrow = 0;
+            for (int j = 0; j < n; j++) {
+                long diff = t[j] - modulusLimbs[j] - borrow;
+                borrow = (Long.compareUnsigned(t[j], modulusLimbs[j]) < 0
+                          || (borrow != 0 && t[j] == modulusLimbs[j])) ? 1 : 0;
+                a[j] = diff;
+            }
+        } else {
+            System.arraycopy(t, 0, a, 0, n);
+        }
+    }
+
+    private long[] toMontgomery(BigInteger value) {
+        return toLimbs(value.shiftLeft(64 * limbs).mod(modulus), limbs);
+    }
+
+    private BigInteger fromMontgomery(long[] value, long[] scratch) {
+        long[] one = new long[limbs];
+        one[0] = 1L;
+        montgomeryMultiply(value, one, scratch);
+        return fromLimbs(value);
+    }
+
+    private static int compareLimbs(long[] a, long[] b, int n) {
+        for (int j = n - 1; j >= 0; j--) {
+            int cmp = Long.compareUnsigned(a[j], b[j]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        // Math.unsignedMultiplyHigh only arrives with Java 18..
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    private static long negativeInverse(long p0) {
+        long inverse = 1L; // Newton iteration, doubling correct bits each round..
+        for (int i = 0; i < 6; i++) {
+            inverse *= 2 - p0 * inverse;
+        }
+        return -inverse;
+    }
+
+    private static long[] toLimbs(BigInteger value, int limbs) {
+        long[] result = new long[limbs];
+        byte[] bytes = value.toByteArray();
+        for (int i = 0; i < bytes.length && i < limbs * 8; i++) {
+            int limb = i >>> 3;
+            result[limb] |= (bytes[bytes.length - 1 - i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return result;
+    }
+
+    private static BigInteger fromLimbs(long[] value) {
+        byte[] bytes = new byte[value.length * 8 + 1]; // Leading zero keeps it positive..
+        for (int i = 0; i < value.length * 8; i++) {
+            bytes[bytes.length - 1 - i] = (byte) (value[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Extracts window w (WINDOW_BITS wide, counted from the least significant bit) from little-endian limbs..
+     */
+    private static int windowDigit(long[] exponent, int window) {
+        int bitOffset = window * WINDOW_BITS;
+        int limb = bitOffset >>> 6;
+        int shift = bitOffset & 63;
+        long bits = exponent[limb] >>> shift;
+        if (shift > 64 - WINDOW_BITS && limb + 1 < exponent.length) {
+            bits |= exponent[limb + 1] << (64 - shift);
+        }
+        return (int) bits & WINDOW_MASK;
+    }
+}
@@ -0,0 +1,86 @@
+package com.schat.signature.core;
+
+import java.math.BigInteger;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lagrange coefficients at x = 0, cached per participant set..
+ * The signer set is nearly always the same few parties, so combining a token
+ * usually costs one map lookup instead of t inversions..
+ */
+final class LagrangeCoefficientCache {
+    // Participant sets seen in practice are few; clearing past this bound keeps memory flat..
+    private static final int MAX_ENTRIES = 1024;
+
+    private final BigInteger modulus;
+    private final Map<Object, BigInteger[]> coefficientsBySet = new ConcurrentHashMap<>();
+
+    LagrangeCoefficientCache(BigInteger modulus) {
+        this.modulus = modulus;
+    }
+
+    /**
+     * Coefficients for the given strictly ascending share indices, aligned with them..
+     */
+    BigInteger[] coefficientsFor(int[] sortedIndices) {
+        Object key = participantSetKey(sortedIndices);
+        BigInteger[] coefficients = coefficientsBySet.get(key);
+        if (coefficients == null) {
+            coefficients = computeCoefficients(sortedIndices);
+            if (coefficientsBySet.size() >= MAX_ENTRIES) {
+                coefficientsBySet.clear();
+            }
+            coefficientsBySet.putIfAbsent(key, coefficients);
+        }
+        return coefficients;
+    }
+
+    private BigInteger[] computeCoefficients(int[] indices) {
+        int t = indices.length;
+        BigInteger[] numerators = new BigInteger[t];
+        BigInteger[] denominators = new BigInteger[t];
+
+        // lambda_i = prod_{j != i} (-j) / (i - j) mod q ..
+        for (int i = 0; i < t; i++) {
+            BigInteger numerator = BigInteger.ONE;
+            BigInteger denominator = BigInteger.ONE;
+            for (int j = 0; j < t; j++) {
+                if (j != i) {
+                    numerator = numerator.multiply(BigInteger.valueOf(-indices[j])).mod(modulus);
+                    denominator = denominator.multiply(BigInteger.valueOf(indices[i] - indices[j])).mod(modulus);
+                }
+            }
+            numerators[i] = numerator;
+            denominators[i] = denominator;
+        }
+
+        // One modInverse for the whole set..
+        BigInteger[] inverses = ModularArithmetic.batchInverse(denominators, modulus);
+        BigInteger[] coefficients = new BigInteger[t];
+        for (int i = 0; i < t; i++) {
+            coefficients[i] = numerators[i].multiply(inverses[i]).mod(modulus);
+        }
+        return coefficients;
+    }
+
+    /**
+     * A long bitmask over party indices for the usual small deployments, a BitSet beyond 63 parties..
+     */
+    private static Object participantSetKey(int[] sortedIndices) {
+        int maxIndex = sortedIndices[sortedIndices.length - 1];
+        if (maxIndex < Long.SIZE) {
+            long mask = 0L;
+            for (int index : sortedIndices) {
+                mask |= 1L << index;
+            }
+            return mask;
+        }
+        BitSet bits = new BitSet(maxIndex + 1);
+        for (int index : sortedIndices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
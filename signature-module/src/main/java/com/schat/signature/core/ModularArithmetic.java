@@ -0,0 +1,38 @@
+package com.schat.signature.core;
+
+import java.math.BigInteger;
+
+/**
+ * Modular arithmetic helpers shared by the threshold scheme..
+ */
+final class ModularArithmetic {
+
+    private ModularArithmetic() {}
+
+    /**
+     * Inverts every value mod modulus with a single modInverse (Montgomery's trick):
+     * prefix products forward, one inversion, then unwinding backwards..
+     */
+    static BigInteger[] batchInverse(BigInteger[] values, BigInteger modulus) {
+        int n = values.length;
+        BigInteger[] inverses = new BigInteger[n];
+        if (n == 0) {
+            return inverses;
+        }
+
+        // prefix[i] = values[0] * ... * values[i] mod modulus..
+        BigInteger[] prefix = new BigInteger[n];
+        prefix[0] = values[0].mod(modulus);
+        for (int i = 1; i < n; i++) {
+            prefix[i] = prefix[i - 1].multiply(values[i]).mod(modulus);
+        }
+
+        BigInteger inverse = prefix[n - 1].modInverse(modulus);
+        for (int i = n - 1; i > 0; i--) {
+            inverses[i] = inverse.multiply(prefix[i - 1]).mod(modulus);
+            inverse = inverse.multiply(values[i]).mod(modulus);
+        }
+        inverses[0] = inverse;
+        return inverses;
+    }
+}
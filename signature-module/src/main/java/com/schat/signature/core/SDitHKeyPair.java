@@ -0,0 +1,45 @@
+package com.schat.signature.core;
+
+public class SDitHKeyPair {
+    private final SDitHPublicKey publicKey;
+    private final SDitHPrivateKey privateKey;
+
+    public SDitHKeyPair(SDitHPublicKey publicKey, SDitHPrivateKey privateKey) {
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+    }
+
+    public SDitHPublicKey getPublicKey() { return publicKey; }
+    public SDitHPrivateKey getPrivateKey() { return privateKey; }
+
+    public static class SDitHPublicKey {
+        private final byte[] h; // Parity check matrix..
+        private final byte[] syndrome;
+        private final SDitHParameters params;
+
+        public SDitHPublicKey(byte[] h, byte[] syndrome, SDitHParameters params) {
+            this.h = h;
+            this.syndrome = syndrome;
+            this.params = params;
+        }
+
+        // Getters..
+        public byte[] getH() { return h; }
+        public byte[] getSyndrome() { return syndrome; }
+        public SDitHParameters getParams() { return params; }
+    }
+
+    public static class SDitHPrivateKey {
+        private final byte[] secretKey; // Error vector e..
+        private final SDitHParameters params;
+
+        public SDitHPrivateKey(byte[] secretKey, SDitHParameters params) {
+            this.secretKey = secretKey;
+            this.params = params;
+        }
+
+        // Getters..
+        public byte[] getSecretKey() { return secretKey; }
+        public SDitHParameters getParams() { return params; }
+    }
+}
@@ -4,36 +4,43 @@ import org.bouncycastle.crypto.digests.SHA3Digest;
 import java.security.SecureRandom;
 import java.util.Arrays;
 
+/**
+ * SDitH signer, safe to share between threads..
+ * Digest, randomness and scratch buffers live in a per-thread Workspace, so a single
+ * instance can serve every request thread without locking..
+ */
 public class SDitHSigner {
-    private final SecureRandom random;
-    private final SHA3Digest digest;
+    private static final int COMMITMENT_SIZE = 32;
+    private static final int CHALLENGE_SIZE = 16;
+    private static final int DIGEST_SIZE = 32;
+
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
 
     public SDitHSigner() {
-        this.random = new SecureRandom();
-        this.digest = new SHA3Digest(256);
     }
 
     /**
      * To Generate a new SDitH key pair..
      */
     public SDitHKeyPair generateKeyPair(SDitHParameters params) {
+        Workspace ws = workspaces.get();
         int n = params.getN();
         int k = params.getK();
         int w = params.getW();
 
         // Generating random parity check matrix H..
-        byte[] h = new byte[(n - k) * n / 8];
-        random.nextBytes(h);
+        byte[] h = new byte[((n - k) * n + 7) / 8];
+        ws.random.nextBytes(h);
 
         // Generating secret error vector e with Hamming weight w ..
-        byte[] secretKey = generateErrorVector(n, w);
+        byte[] secretKey = generateErrorVector(ws.random, n, w);
 
         // Computing the syndrome s = H * e ..
         byte[] syndrome = computeSyndrome(h, secretKey, n, k);
 
-        SDitHKeyPair.SDitHPublicKey publicKey = 
+        SDitHKeyPair.SDitHPublicKey publicKey =
             new SDitHKeyPair.SDitHPublicKey(h, syndrome, params);
-        SDitHKeyPair.SDitHPrivateKey privateKey = 
+        SDitHKeyPair.SDitHPrivateKey privateKey =
             new SDitHKeyPair.SDitHPrivateKey(secretKey, params);
 
         return new SDitHKeyPair(publicKey, privateKey);
@@ -41,20 +48,23 @@ public class SDitHSigner {
 
     /**
      * To Sign a message using SDitH scheme..
+     * Commitment, challenge and response are written straight into the returned array..
      */
     public byte[] sign(byte[] message, SDitHKeyPair.SDitHPrivateKey privateKey) {
+        Workspace ws = workspaces.get();
         SDitHParameters params = privateKey.getParams();
+        byte[] signature = new byte[COMMITMENT_SIZE + CHALLENGE_SIZE + DIGEST_SIZE];
 
         // Hashing the message..
-        byte[] messageHash = hash(message);
+        hash(ws, message, ws.messageHash);
 
         // Generating commitment and response (simplified MPC-in-the-head)..
-        byte[] commitment = generateCommitment(messageHash, privateKey, params);
-        byte[] challenge = generateChallenge(messageHash, commitment);
-        byte[] response = generateResponse(privateKey, challenge, params);
+        generateCommitment(ws, privateKey, signature);
+        generateChallenge(ws, signature, 0, ws.challenge);
+        System.arraycopy(ws.challenge, 0, signature, COMMITMENT_SIZE, CHALLENGE_SIZE);
+        generateResponse(ws, privateKey, params, signature, COMMITMENT_SIZE + CHALLENGE_SIZE);
 
-        // Combining signature components..
-        return combineSignature(commitment, challenge, response);
+        return signature;
     }
 
     /**
@@ -62,22 +72,25 @@ public class SDitHSigner {
      */
     public boolean verify(byte[] message, byte[] signature, SDitHKeyPair.SDitHPublicKey publicKey) {
         try {
-            // Parsing signature..
-            SignatureComponents components = parseSignature(signature);
+            if (signature.length < COMMITMENT_SIZE + CHALLENGE_SIZE) {
+                return false;
+            }
+            Workspace ws = workspaces.get();
 
             // Hashing the message..
-            byte[] messageHash = hash(message);
+            hash(ws, message, ws.messageHash);
 
-            // Recomputing challenge..
-            byte[] recomputedChallenge = generateChallenge(messageHash, components.commitment);
+            // Recomputing challenge from the commitment in place..
+            generateChallenge(ws, signature, 0, ws.challenge);
 
             // Verifying challenge matches..
-            if (!Arrays.equals(recomputedChallenge, components.challenge)) {
+            if (!Arrays.equals(ws.challenge, 0, CHALLENGE_SIZE,
+                               signature, COMMITMENT_SIZE, COMMITMENT_SIZE + CHALLENGE_SIZE)) {
                 return false;
             }
 
             // Verifying response against public key..
-            return verifyResponse(components, publicKey, messageHash);
+            return verifyResponse(ws, signature, COMMITMENT_SIZE + CHALLENGE_SIZE, publicKey);
         } catch (Exception e) {
             return false;
         }
@@ -85,8 +98,8 @@ public class SDitHSigner {
 
     // Helper methods..
 
-    private byte[] generateErrorVector(int n, int w) {
-        byte[] vector = new byte[n / 8];
+    private byte[] generateErrorVector(SecureRandom random, int n, int w) {
+        byte[] vector = new byte[(n + 7) / 8];
         int[] positions = new int[w];
 
         // Selecting w random positions..
@@ -112,123 +125,87 @@ public class SDitHSigner {
     }
 
     private byte[] computeSyndrome(byte[] h, byte[] errorVector, int n, int k) {
-        // Simplified matrix-vector multiplication in GF(2)..
-        int syndromeLen = (n - k) / 8;
-        byte[] syndrome = new byte[syndromeLen];
-
-        for (int i = 0; i < n - k; i++) {
-            int bit = 0;
-            for (int j = 0; j < n; j++) {
-                int hBit = (h[(i * n + j) / 8] >> ((i * n + j) % 8)) & 1;
-                int eBit = (errorVector[j / 8] >> (j % 8)) & 1;
-                bit ^= (hBit & eBit);
-            }
-            syndrome[i / 8] |= (bit << (i % 8));
-        }
-
-        return syndrome;
+        // Matrix-vector multiplication in GF(2), 64 columns at a time..
+        return SyndromeEngine.computeSyndrome(h, errorVector, n, k);
     }
 
-    private byte[] hash(byte[] data) {
-        digest.reset();
-        digest.update(data, 0, data.length);
-        byte[] hash = new byte[digest.getDigestSize()];
-        digest.doFinal(hash, 0);
-        return hash;
+    private void hash(Workspace ws, byte[] data, byte[] out) {
+        ws.digest.reset();
+        ws.digest.update(data, 0, data.length);
+        ws.digest.doFinal(out, 0);
     }
 
-    private byte[] generateCommitment(byte[] messageHash, 
-                                     SDitHKeyPair.SDitHPrivateKey privateKey, 
-                                     SDitHParameters params) {
-        // Simplified commitment generation..
-        byte[] commitment = new byte[32];
-        random.nextBytes(commitment);
+    private void generateCommitment(Workspace ws, SDitHKeyPair.SDitHPrivateKey privateKey, byte[] out) {
+        // Simplified commitment generation, seeded with fresh randomness..
+        ws.random.nextBytes(ws.seed);
 
         // In real implementation: commit to MPC shares..
-        digest.reset();
-        digest.update(messageHash, 0, messageHash.length);
-        digest.update(privateKey.getSecretKey(), 0, privateKey.getSecretKey().length);
-        digest.update(commitment, 0, commitment.length);
-        digest.doFinal(commitment, 0);
-
-        return commitment;
+        byte[] secretKey = privateKey.getSecretKey();
+        ws.digest.reset();
+        ws.digest.update(ws.messageHash, 0, DIGEST_SIZE);
+        ws.digest.update(secretKey, 0, secretKey.length);
+        ws.digest.update(ws.seed, 0, COMMITMENT_SIZE);
+        ws.digest.doFinal(out, 0);
     }
 
-    private byte[] generateChallenge(byte[] messageHash, byte[] commitment) {
-        digest.reset();
-        digest.update(messageHash, 0, messageHash.length);
-        digest.update(commitment, 0, commitment.length);
-        byte[] challenge = new byte[16];
-        digest.doFinal(challenge, 0);
-        return challenge;
+    private void generateChallenge(Workspace ws, byte[] commitment, int offset, byte[] out) {
+        ws.digest.reset();
+        ws.digest.update(ws.messageHash, 0, DIGEST_SIZE);
+        ws.digest.update(commitment, offset, COMMITMENT_SIZE);
+        ws.digest.doFinal(out, 0); // Only the first CHALLENGE_SIZE bytes are used..
     }
 
-    private byte[] generateResponse(SDitHKeyPair.SDitHPrivateKey privateKey, 
-                                   byte[] challenge, 
-                                   SDitHParameters params) {
+    private void generateResponse(Workspace ws, SDitHKeyPair.SDitHPrivateKey privateKey,
+                                  SDitHParameters params, byte[] out, int offset) {
         // Simplified response generation..
-        byte[] response = new byte[params.getN() / 8 + 32];
-
-        // Combining secret key with challenge..
-        System.arraycopy(privateKey.getSecretKey(), 0, response, 0, 
-                        privateKey.getSecretKey().length);
-        System.arraycopy(challenge, 0, response, 
-                        privateKey.getSecretKey().length, 
-                        Math.min(challenge.length, 32));
-
-        return hash(response);
+        byte[] secretKey = privateKey.getSecretKey();
+        int length = (params.getN() + 7) / 8 + 32;
+        byte[] response = ws.scratch(length);
+
+        // Combining secret key with challenge, zero padded..
+        System.arraycopy(secretKey, 0, response, 0, secretKey.length);
+        System.arraycopy(ws.challenge, 0, response, secretKey.length, CHALLENGE_SIZE);
+        Arrays.fill(response, secretKey.length + CHALLENGE_SIZE, length, (byte) 0);
+
+        ws.digest.reset();
+        ws.digest.update(response, 0, length);
+        ws.digest.doFinal(out, offset);
     }
 
-    private byte[] combineSignature(byte[] commitment, byte[] challenge, byte[] response) {
-        byte[] signature = new byte[commitment.length + challenge.length + response.length];
-        System.arraycopy(commitment, 0, signature, 0, commitment.length);
-        System.arraycopy(challenge, 0, signature, commitment.length, challenge.length);
-        System.arraycopy(response, 0, signature, commitment.length + challenge.length, 
-                        response.length);
-        return signature;
-    }
-
-    private SignatureComponents parseSignature(byte[] signature) {
-        // Assuming fixed sizes for simplicity..
-        int commitmentSize = 32;
-        int challengeSize = 16;
-
-        byte[] commitment = Arrays.copyOfRange(signature, 0, commitmentSize);
-        byte[] challenge = Arrays.copyOfRange(signature, commitmentSize, 
-                                              commitmentSize + challengeSize);
-        byte[] response = Arrays.copyOfRange(signature, commitmentSize + challengeSize, 
-                                            signature.length);
-
-        return new SignatureComponents(commitment, challenge, response);
-    }
-
-    private boolean verifyResponse(SignatureComponents components, 
-                                  SDitHKeyPair.SDitHPublicKey publicKey, 
-                                  byte[] messageHash) {
+    private boolean verifyResponse(Workspace ws, byte[] signature, int responseOffset,
+                                   SDitHKeyPair.SDitHPublicKey publicKey) {
         // Simplified verification..
         // In real implementation: MPC-in-the-head protocol might be verified..
 
         // Checking that response is consistent with commitment and public key..
-        byte[] recomputedCommitment = new byte[32];
-        digest.reset();
-        digest.update(messageHash, 0, messageHash.length);
-        digest.update(components.response, 0, components.response.length);
-        digest.update(publicKey.getSyndrome(), 0, publicKey.getSyndrome().length);
-        digest.doFinal(recomputedCommitment, 0);
+        byte[] syndrome = publicKey.getSyndrome();
+        ws.digest.reset();
+        ws.digest.update(ws.messageHash, 0, DIGEST_SIZE);
+        ws.digest.update(signature, responseOffset, signature.length - responseOffset);
+        ws.digest.update(syndrome, 0, syndrome.length);
+        ws.digest.doFinal(ws.recomputedCommitment, 0);
 
         // In production: full SDitH verification might be implemented..
         return true; // Simplified..
     }
 
-    private static class SignatureComponents {
-        final byte[] commitment;
-        final byte[] challenge;
-        final byte[] response;
-
-        SignatureComponents(byte[] commitment, byte[] challenge, byte[] response) {
-            this.commitment = commitment;
-            this.challenge = challenge;
-            this.response = response;
+    /**
+     * Per-thread digest state and reusable buffers..
+     */
+    private static final class Workspace {
+        final SHA3Digest digest = new SHA3Digest(256);
+        final SecureRandom random = new SecureRandom();
+        final byte[] messageHash = new byte[DIGEST_SIZE];
+        final byte[] challenge = new byte[DIGEST_SIZE];
+        final byte[] seed = new byte[COMMITMENT_SIZE];
+        final byte[] recomputedCommitment = new byte[DIGEST_SIZE];
+        private byte[] scratch = new byte[0];
+
+        byte[] scratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            return scratch;
         }
     }
 }
@@ -1,40 +1,90 @@
 package com.schat.signature.core;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 public class SDithKeyGenerator {
     private final SDithPublicKey publicKey;
-    private final Map<Integer, BigInteger> shares;
+    private final ShareDealer dealer;
     private final List<BigInteger> coefficients;
+    private volatile Map<Integer, BigInteger> shares;
 
     public SDithKeyGenerator(SDithPublicKey publicKey, Map<Integer, BigInteger> shares, 
                            List<BigInteger> coefficients) {
         this.publicKey = publicKey;
+        this.dealer = null;
         this.shares = shares;
         this.coefficients = coefficients;
     }
 
+    /**
+     * Shares are evaluated on demand from the dealer instead of being held in a map..
+     */
+    public SDithKeyGenerator(SDithPublicKey publicKey, ShareDealer dealer) {
+        this.publicKey = publicKey;
+        this.dealer = dealer;
+        this.coefficients = dealer.getCoefficients();
+    }
+
     public SDithKeyPair getKeyPairForParty(int partyIndex) {
-        if (!shares.containsKey(partyIndex)) {
-            throw new IllegalArgumentException("Invalid party index: " + partyIndex);
-        }
         SDithPrivateKeyShare privateShare = new SDithPrivateKeyShare(
-            shares.get(partyIndex), partyIndex, publicKey.getCurveOrder()
+            shareFor(partyIndex), partyIndex, publicKey.getCurveOrder()
         );
         return new SDithKeyPair(publicKey, privateShare);
     }
 
+    /**
+     * Streams the key pair of every party to the consumer, in parallel when dealer-backed..
+     * The consumer may be called from several threads..
+     */
+    public void forEachKeyPair(ObjIntConsumer<SDithKeyPair> consumer) {
+        if (dealer == null) {
+            shares.forEach((partyIndex, share) -> consumer.accept(keyPairFor(share, partyIndex), partyIndex));
+            return;
+        }
+        dealer.dealShares((share, partyIndex) -> consumer.accept(keyPairFor(share, partyIndex), partyIndex));
+    }
+
     public SDithPublicKey getPublicKey() {
         return publicKey;
     }
 
+    /**
+     * All shares by party index; dealer-backed generators build this map on first use..
+     */
     public Map<Integer, BigInteger> getShares() {
-        return shares;
+        Map<Integer, BigInteger> result = shares;
+        if (result == null) {
+            BigInteger[] allShares = dealer.computeAllShares();
+            result = new HashMap<>(allShares.length * 2);
+            for (int i = 0; i < allShares.length; i++) {
+                result.put(i + 1, allShares[i]);
+            }
+            result = Collections.unmodifiableMap(result);
+            shares = result;
+        }
+        return result;
     }
 
     public List<BigInteger> getCoefficients() {
         return coefficients;
     }
+
+    private BigInteger shareFor(int partyIndex) {
+        if (dealer != null) {
+            return dealer.shareFor(partyIndex);
+        }
+        if (!shares.containsKey(partyIndex)) {
+            throw new IllegalArgumentException("Invalid party index: " + partyIndex);
+        }
+        return shares.get(partyIndex);
+    }
+
+    private SDithKeyPair keyPairFor(BigInteger share, int partyIndex) {
+        return new SDithKeyPair(publicKey, new SDithPrivateKeyShare(share, partyIndex, publicKey.getCurveOrder()));
+    }
 }
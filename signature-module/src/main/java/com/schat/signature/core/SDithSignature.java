@@ -1,9 +1,15 @@
 package com.schat.signature.core;
 
 import java.math.BigInteger;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.Objects;
 
 public class SDithSignature {
+    // Wire format v1: version byte, then r and s as unsigned big-endian 32-byte scalars..
+    public static final byte VERSION_1 = 0x01;
+    public static final int SCALAR_SIZE = 32;
+    public static final int ENCODED_LENGTH = 1 + 2 * SCALAR_SIZE;
+
     private final BigInteger r;
     private final BigInteger s;
 
@@ -16,19 +22,65 @@ public class SDithSignature {
     public BigInteger getS() { return s; }
 
     public byte[] toBytes() {
-        byte[] rBytes = r.toByteArray();
-        byte[] sBytes = s.toByteArray();
-        byte[] result = new byte[rBytes.length + sBytes.length];
-        System.arraycopy(rBytes, 0, result, 0, rBytes.length);
-        System.arraycopy(sBytes, 0, result, rBytes.length, sBytes.length);
+        byte[] result = new byte[ENCODED_LENGTH];
+        encodeTo(ByteBuffer.wrap(result));
         return result;
     }
 
+    /**
+     * To Write the fixed-width encoding at the buffer's position..
+     */
+    public void encodeTo(ByteBuffer out) {
+        if (out.remaining() < ENCODED_LENGTH) {
+            throw new IllegalArgumentException(
+                "Buffer too small for signature. Required: " + ENCODED_LENGTH + ", Remaining: " + out.remaining());
+        }
+        // Both checked before the first put, so a bad signature leaves the buffer untouched..
+        checkScalar(r, "r");
+        checkScalar(s, "s");
+        out.put(VERSION_1);
+        putScalar(out, r);
+        putScalar(out, s);
+    }
+
     public static SDithSignature fromBytes(byte[] data) {
-        int half = data.length / 2;
-        BigInteger r = new BigInteger(Arrays.copyOfRange(data, 0, half));
-        BigInteger s = new BigInteger(Arrays.copyOfRange(data, half, data.length));
+        return fromBytes(data, 0, data.length);
+    }
+
+    /**
+     * To Decode a signature from data[offset .. offset + length) without copying the slice..
+     */
+    public static SDithSignature fromBytes(byte[] data, int offset, int length) {
+        if (length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException(
+                "Invalid signature length. Expected: " + ENCODED_LENGTH + ", Got: " + length);
+        }
+        try {
+            Objects.checkFromIndexSize(offset, length, data.length);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Signature slice out of bounds: " + e.getMessage(), e);
+        }
+        if (data[offset] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported signature version: " + data[offset]);
+        }
+        BigInteger r = new BigInteger(1, data, offset + 1, SCALAR_SIZE);
+        BigInteger s = new BigInteger(1, data, offset + 1 + SCALAR_SIZE, SCALAR_SIZE);
         return new SDithSignature(r, s);
     }
-}
 
+    private static void checkScalar(BigInteger value, String name) {
+        if (value == null || value.signum() < 0 || value.bitLength() > SCALAR_SIZE * 8) {
+            throw new IllegalArgumentException("Signature component " + name + " out of range");
+        }
+    }
+
+    private static void putScalar(ByteBuffer out, BigInteger value) {
+        // toByteArray may carry a leading sign byte or be shorter than the field; left pad with zeros..
+        byte[] magnitude = value.toByteArray();
+        int skip = magnitude.length > SCALAR_SIZE ? magnitude.length - SCALAR_SIZE : 0;
+        for (int i = magnitude.length - skip; i < SCALAR_SIZE; i++) {
+            out.put((byte) 0);
+        }
+        out.put(magnitude, skip, magnitude.length - skip);
+    }
+}
@@ -4,9 +4,17 @@ import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SDithThresholdScheme {
     private static final SecureRandom random = new SecureRandom();
+    private static final BigInteger GENERATOR = BigInteger.valueOf(2);
+
+    // Fixed-base tables for the generator, built once per curve order..
+    private static final Map<BigInteger, FixedBaseExponentiator> generatorTables = new ConcurrentHashMap<>();
+
+    // Lagrange coefficients per curve order, keyed by participant set..
+    private static final Map<BigInteger, LagrangeCoefficientCache> lagrangeCaches = new ConcurrentHashMap<>();
 
     /**
      * To Generate a (t,n) threshold key pair for SDith scheme..
@@ -24,16 +32,12 @@ public class SDithThresholdScheme {
             coefficients.add(new BigInteger(256, random).mod(curveOrder));
         }
 
-        // Generating shares for each party..
-        Map<Integer, BigInteger> shares = new HashMap<>();
-        for (int i = 1; i <= totalParties; i++) {
-            BigInteger share = evaluatePolynomial(coefficients, BigInteger.valueOf(i), curveOrder);
-            shares.put(i, share);
-        }
+        // Shares are Horner evaluations of the polynomial, dealt on demand or in parallel..
+        ShareDealer dealer = new ShareDealer(coefficients, totalParties, curveOrder);
 
         // Calculating public key (g^masterPrivateKey)..
         // In practice, this would use elliptic curve multiplication..
-        BigInteger publicKeyValue = BigInteger.valueOf(2).modPow(masterPrivateKey, curveOrder);
+        BigInteger publicKeyValue = generatorTable(curveOrder).pow(masterPrivateKey);
 
         SDithPublicKey publicKey = new SDithPublicKey(
             null, // ECPoint would be set in actual EC implementation..
@@ -42,7 +46,7 @@ public class SDithThresholdScheme {
             curveOrder
         );
 
-        return new SDithKeyGenerator(publicKey, shares, coefficients);
+        return new SDithKeyGenerator(publicKey, dealer);
     }
 
     /**
@@ -63,7 +67,7 @@ public class SDithThresholdScheme {
         BigInteger kInverse = k.modInverse(curveOrder);
 
         // Calculating r = g^k mod p (in EC this would be x-coordinate of k*G)
-        BigInteger r = BigInteger.valueOf(2).modPow(k, curveOrder).mod(curveOrder);
+        BigInteger r = generatorTable(curveOrder).pow(k);
 
         // Calculating partial signature s_i = share_i * H(m) + k mod q ..
         BigInteger s = privateShare.multiply(messageHash)
@@ -101,7 +105,7 @@ public class SDithThresholdScheme {
         }
 
         // Calculating r = g^k mod p (same for all parties)
-        BigInteger r = BigInteger.valueOf(2).modPow(k, curveOrder).mod(curveOrder);
+        BigInteger r = generatorTable(curveOrder).pow(k);
 
         // Calculating partial signature s_i = share_i * H(m) + k mod q
         BigInteger s = privateShare.multiply(messageHash)
@@ -139,6 +143,34 @@ public class SDithThresholdScheme {
         }
     }
 
+    /**
+     * To Compute r = g^k for the deterministic nonce of a message..
+     * Every honest party's partial signature on this message carries this r..
+     */
+    public static BigInteger nonceCommitment(byte[] message, BigInteger curveOrder) {
+        return generatorTable(curveOrder).pow(generateDeterministicNonce(message, curveOrder));
+    }
+
+    /**
+     * To Check one party's partial signature before it is combined..
+     * It must carry the nonce commitment and message hash every honest party derives
+     * for this message. s_i itself can't be checked against a per-party public share
+     * until the scheme moves to a prime-order group; in this demonstration group the
+     * exponents are reduced mod q rather than mod the group order..
+     */
+    public static boolean verifyPartialSignature(byte[] message, SDithPartialSignature partial,
+                                                 BigInteger expectedR, BigInteger curveOrder) {
+        if (!partial.getR().equals(expectedR)) {
+            return false;
+        }
+        BigInteger s = partial.getS();
+        if (s == null || s.signum() < 0 || s.compareTo(curveOrder) >= 0) {
+            return false;
+        }
+        return partial.getMessageHash() == null
+            || partial.getMessageHash().equals(hashMessage(message, curveOrder));
+    }
+
     /**
      * To Combine partial signatures to create final signature..
      */
@@ -165,14 +197,14 @@ public class SDithThresholdScheme {
         BigInteger combinedS = BigInteger.ZERO;
         BigInteger curveOrder = publicKey.getCurveOrder();
 
+        int[] sortedIndices = sortedShareIndices(partialSignatures);
+        BigInteger[] lagrangeCoeffs = lagrangeCaches
+            .computeIfAbsent(curveOrder, LagrangeCoefficientCache::new)
+            .coefficientsFor(sortedIndices);
+
         for (SDithPartialSignature partial : partialSignatures) {
-            BigInteger lagrangeCoeff = computeLagrangeCoefficient(
-                partial.getShareIndex(),
-                partialSignatures.stream()
-                    .map(SDithPartialSignature::getShareIndex)
-                    .collect(java.util.stream.Collectors.toList()),
-                curveOrder
-            );
+            BigInteger lagrangeCoeff =
+                lagrangeCoeffs[Arrays.binarySearch(sortedIndices, partial.getShareIndex())];
 
             combinedS = combinedS.add(partial.getS().multiply(lagrangeCoeff))
                                .mod(curveOrder);
@@ -181,54 +213,112 @@ public class SDithThresholdScheme {
         return new SDithSignature(r, combinedS);
     }
 
+    /**
+     * To Combine the partials of many messages signed by the same participant set..
+     * partialsPerMessage.get(i) holds message i's partials, all lists listing the parties in
+     * the same order. The Lagrange coefficients are then looked up once for the whole batch;
+     * lists in a different order fall back to combineSignatures..
+     */
+    public static List<SDithSignature> combineSignatureBatch(
+            List<List<SDithPartialSignature>> partialsPerMessage,
+            SDithPublicKey publicKey) {
+
+        List<SDithSignature> signatures = new ArrayList<>(partialsPerMessage.size());
+        if (partialsPerMessage.isEmpty()) {
+            return signatures;
+        }
+
+        List<SDithPartialSignature> first = partialsPerMessage.get(0);
+        if (first.size() < publicKey.getThreshold()) {
+            throw new IllegalArgumentException(
+                "Insufficient partial signatures. Required: " +
+                publicKey.getThreshold() + ", Provided: " + first.size());
+        }
+
+        BigInteger curveOrder = publicKey.getCurveOrder();
+        int[] sortedIndices = sortedShareIndices(first);
+        BigInteger[] sortedCoeffs = lagrangeCaches
+            .computeIfAbsent(curveOrder, LagrangeCoefficientCache::new)
+            .coefficientsFor(sortedIndices);
+
+        // Coefficients in the parties' list order, so each message is a plain dot product..
+        int[] order = new int[first.size()];
+        BigInteger[] coeffs = new BigInteger[first.size()];
+        for (int j = 0; j < order.length; j++) {
+            order[j] = first.get(j).getShareIndex();
+            coeffs[j] = sortedCoeffs[Arrays.binarySearch(sortedIndices, order[j])];
+        }
+
+        for (List<SDithPartialSignature> partials : partialsPerMessage) {
+            if (!sameParties(partials, order)) {
+                signatures.add(combineSignatures(partials, publicKey, null));
+                continue;
+            }
+            BigInteger r = partials.get(0).getR();
+            BigInteger combinedS = BigInteger.ZERO;
+            for (int j = 0; j < order.length; j++) {
+                SDithPartialSignature partial = partials.get(j);
+                if (!partial.getR().equals(r)) {
+                    throw new IllegalArgumentException("Inconsistent r values in partial signatures");
+                }
+                combinedS = combinedS.add(partial.getS().multiply(coeffs[j]));
+            }
+            signatures.add(new SDithSignature(r, combinedS.mod(curveOrder)));
+        }
+        return signatures;
+    }
+
     /**
      * To Verify a signature ..
+     * There is deliberately no batch variant: a random linear combination of these equations
+     * is only sound in a prime-order group, and Z_q* has the element -1 of order 2, so a
+     * forged r -> q - r would pass about half the time..
      */
     public static boolean verifySignature(byte[] message, SDithSignature signature, 
                                         SDithPublicKey publicKey) {
-        BigInteger messageHash = hashMessage(message, publicKey.getCurveOrder());
+        BigInteger curveOrder = publicKey.getCurveOrder();
+        BigInteger messageHash = hashMessage(message, curveOrder);
 
         // In EC: R = s*G - H(m)*Y ..
-        // For demonstration using modular exponentiation:..
-        BigInteger left = BigInteger.valueOf(2).modPow(signature.getS(), publicKey.getCurveOrder());
-        BigInteger right = signature.getR()
-            .multiply(
-                BigInteger.valueOf(2).modPow(
-                    messageHash.multiply(extractPublicValue(publicKey))
-                              .mod(publicKey.getCurveOrder()),
-                    publicKey.getCurveOrder()
-                )
-            ).mod(publicKey.getCurveOrder());
-
-        return left.equals(right);
+        // For demonstration using modular exponentiation: g^s == r * g^(H(m)*Y) ..
+        BigInteger exponent = messageHash.multiply(extractPublicValue(publicKey)).mod(curveOrder);
+
+        return generatorTable(curveOrder).verifiesRelation(signature.getS(), signature.getR(), exponent);
     }
 
     // Helper methods..
-    private static BigInteger evaluatePolynomial(List<BigInteger> coefficients, 
-                                               BigInteger x, BigInteger modulus) {
-        BigInteger result = BigInteger.ZERO;
-        for (int i = 0; i < coefficients.size(); i++) {
-            result = result.add(coefficients.get(i).multiply(x.pow(i))).mod(modulus);
-        }
-        return result;
+    private static FixedBaseExponentiator generatorTable(BigInteger curveOrder) {
+        return generatorTables.computeIfAbsent(
+            curveOrder, modulus -> new FixedBaseExponentiator(GENERATOR, modulus));
     }
 
-    private static BigInteger computeLagrangeCoefficient(int index, List<Integer> indices, 
-                                                        BigInteger modulus) {
-        BigInteger numerator = BigInteger.ONE;
-        BigInteger denominator = BigInteger.ONE;
-
-        BigInteger iBig = BigInteger.valueOf(index);
-
-        for (int j : indices) {
-            if (j != index) {
-                BigInteger jBig = BigInteger.valueOf(j);
-                numerator = numerator.multiply(jBig.negate()).mod(modulus);
-                denominator = denominator.multiply(iBig.subtract(jBig)).mod(modulus);
+    private static boolean sameParties(List<SDithPartialSignature> partials, int[] order) {
+        if (partials.size() != order.length) {
+            return false;
+        }
+        for (int j = 0; j < order.length; j++) {
+            if (partials.get(j).getShareIndex() != order[j]) {
+                return false;
             }
         }
+        return true;
+    }
 
-        return numerator.multiply(denominator.modInverse(modulus)).mod(modulus);
+    private static int[] sortedShareIndices(List<SDithPartialSignature> partialSignatures) {
+        int[] indices = new int[partialSignatures.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = partialSignatures.get(i).getShareIndex();
+            if (indices[i] < 1) {
+                throw new IllegalArgumentException("Invalid share index: " + indices[i]);
+            }
+        }
+        Arrays.sort(indices);
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] == indices[i - 1]) {
+                throw new IllegalArgumentException("Duplicate share index in partial signatures: " + indices[i]);
+            }
+        }
+        return indices;
     }
 
     private static BigInteger hashMessage(byte[] message, BigInteger modulus) {
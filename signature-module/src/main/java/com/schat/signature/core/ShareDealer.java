@@ -0,0 +1,114 @@
+package com.schat.signature.core;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Evaluates the dealer polynomial for parties 1..n ..
+ * Each share is a Horner evaluation (t multiply-adds with small x), and bulk
+ * dealing is split across a fork-join pool, so large party counts neither
+ * need x^i powers nor a map holding every share at once..
+ */
+public class ShareDealer {
+    // Parties per leaf task; one share costs t small multiply-adds..
+    private static final int PARTIES_PER_TASK = 32;
+
+    private final List<BigInteger> coefficients;
+    private final BigInteger[] coefficientArray;
+    private final int totalParties;
+    private final BigInteger modulus;
+
+    public ShareDealer(List<BigInteger> coefficients, int totalParties, BigInteger modulus) {
+        if (coefficients.isEmpty()) {
+            throw new IllegalArgumentException("Polynomial needs at least one coefficient");
+        }
+        this.coefficients = Collections.unmodifiableList(coefficients);
+        this.coefficientArray = coefficients.toArray(new BigInteger[0]);
+        this.totalParties = totalParties;
+        this.modulus = modulus;
+    }
+
+    /**
+     * Share of one party, f(partyIndex) mod q ..
+     */
+    public BigInteger shareFor(int partyIndex) {
+        if (partyIndex < 1 || partyIndex > totalParties) {
+            throw new IllegalArgumentException("Invalid party index: " + partyIndex);
+        }
+        return evaluate(coefficientArray, modulus, partyIndex);
+    }
+
+    /**
+     * Streams every party's share to the consumer, computed in parallel on the common pool..
+     * The consumer is called from several threads and must be thread-safe..
+     */
+    public void dealShares(ObjIntConsumer<BigInteger> consumer) {
+        dealShares(ForkJoinPool.commonPool(), consumer);
+    }
+
+    /**
+     * Streams every party's share to the consumer, computed in parallel on the given pool..
+     */
+    public void dealShares(ForkJoinPool pool, ObjIntConsumer<BigInteger> consumer) {
+        pool.invoke(new DealTask(coefficientArray, modulus, 1, totalParties + 1, consumer));
+    }
+
+    /**
+     * All shares at once, shares[i - 1] belonging to party i ..
+     */
+    public BigInteger[] computeAllShares() {
+        BigInteger[] shares = new BigInteger[totalParties];
+        dealShares((share, partyIndex) -> shares[partyIndex - 1] = share);
+        return shares;
+    }
+
+    public List<BigInteger> getCoefficients() { return coefficients; }
+    public int getTotalParties() { return totalParties; }
+    public BigInteger getModulus() { return modulus; }
+
+    // Horner: f(x) = a0 + x(a1 + x(a2 + ...)) ..
+    private static BigInteger evaluate(BigInteger[] coefficients, BigInteger modulus, int partyIndex) {
+        BigInteger x = BigInteger.valueOf(partyIndex);
+        BigInteger result = BigInteger.ZERO;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            result = result.multiply(x).add(coefficients[i]).mod(modulus);
+        }
+        return result;
+    }
+
+    private static final class DealTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BigInteger[] coefficients;
+        private final BigInteger modulus;
+        private final int from; // inclusive..
+        private final int to; // exclusive..
+        private final transient ObjIntConsumer<BigInteger> consumer;
+
+        DealTask(BigInteger[] coefficients, BigInteger modulus, int from, int to,
+                 ObjIntConsumer<BigInteger> consumer) {
+            this.coefficients = coefficients;
+            this.modulus = modulus;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARTIES_PER_TASK) {
+                for (int partyIndex = from; partyIndex < to; partyIndex++) {
+                    consumer.accept(evaluate(coefficients, modulus, partyIndex), partyIndex);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DealTask(coefficients, modulus, from, middle, consumer),
+                new DealTask(coefficients, modulus, middle, to, consumer));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.schat.signature.core;
+
+/**
+ * Word-packed GF(2) matrix-vector product for SDitH syndromes..
+ * H is stored row-major, bit (i * n + j) of the byte array being H[i][j] (LSB first),
+ * the same layout SDitHSigner has always produced. Rows are repacked into long[] words
+ * so every syndrome bit is the parity of (row AND e), i.e. n / 64 ANDs and bitCounts..
+ */
+public final class SyndromeEngine {
+
+    private SyndromeEngine() {
+    }
+
+    /**
+     * To Compute s = H * e over GF(2)..
+     */
+    public static byte[] computeSyndrome(byte[] h, byte[] errorVector, int n, int k) {
+        return multiply(packRows(h, n - k, n), toWords(errorVector, n), n - k);
+    }
+
+    /**
+     * s = H * e with H already packed by packRows..
+     */
+    public static byte[] multiply(long[][] rows, long[] errorWords, int rowCount) {
+        byte[] syndrome = new byte[(rowCount + 7) / 8];
+        for (int i = 0; i < rowCount; i++) {
+            long[] row = rows[i];
+            long acc = 0;
+            for (int w = 0; w < row.length; w++) {
+                acc ^= row[w] & errorWords[w];
+            }
+            syndrome[i >>> 3] |= (byte) ((Long.bitCount(acc) & 1) << (i & 7));
+        }
+        return syndrome;
+    }
+
+    /**
+     * Splits the flat bit matrix into rowCount rows of n bits, each as (n + 63) / 64 words..
+     */
+    public static long[][] packRows(byte[] h, int rowCount, int n) {
+        long[] flat = toWords(h, h.length * 8);
+        int words = (n + 63) >>> 6;
+        long tailMask = (n & 63) == 0 ? -1L : (1L << (n & 63)) - 1;
+        long[][] rows = new long[rowCount][words];
+
+        for (int i = 0; i < rowCount; i++) {
+            long bitOffset = (long) i * n;
+            int base = (int) (bitOffset >>> 6);
+            int shift = (int) (bitOffset & 63);
+            long[] row = rows[i];
+            for (int w = 0; w < words; w++) {
+                long lo = flat[base + w] >>> shift;
+                long hi = shift == 0 || base + w + 1 >= flat.length ? 0 : flat[base + w + 1] << (64 - shift);
+                row[w] = lo | hi;
+            }
+            row[words - 1] &= tailMask;
+        }
+        return rows;
+    }
+
+    /**
+     * Little-endian packing of the first bits of a byte array into longs..
+     */
+    public static long[] toWords(byte[] bytes, int bits) {
+        long[] words = new long[(bits + 63) >>> 6];
+        int limit = Math.min(bytes.length, words.length * 8);
+        for (int b = 0; b < limit; b++) {
+            words[b >>> 3] |= (bytes[b] & 0xFFL) << ((b & 7) << 3);
+        }
+        return words;
+    }
+}
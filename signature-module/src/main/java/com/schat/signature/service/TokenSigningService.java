@@ -52,6 +52,23 @@ public class TokenSigningService {
         return SDithThresholdScheme.verifySignature(tokenData, signature, keyPair.getPublicKey());
     }
 
+    /**
+     * To Verify many token signatures, true only if all of them are valid..
+     * They are checked one by one; see SDithThresholdScheme.verifySignature..
+     */
+    public boolean verifyTokenSignatures(List<byte[]> tokenData, List<byte[]> signatureBytes) {
+        if (tokenData.size() != signatureBytes.size()) {
+            throw new IllegalArgumentException(
+                "Batch size mismatch. Tokens: " + tokenData.size() + ", Signatures: " + signatureBytes.size());
+        }
+        for (int i = 0; i < tokenData.size(); i++) {
+            if (!verifyTokenSignature(tokenData.get(i), signatureBytes.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void addPartialSignature(SDithPartialSignature partialSignature) {
         collectedPartials.add(partialSignature);
     }
@@ -1,26 +1,83 @@
 package com.schat.signature.util;
 
 import com.schat.signature.core.SDithKeyPair;
+import com.schat.signature.core.SDithPrivateKeyShare;
+import com.schat.signature.core.SDithPublicKey;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.*;
-import java.security.PrivateKey;
-import java.security.PublicKey;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
 
+/**
+ * Key share files, one JSON document per party with numbers as hex strings..
+ */
 public class KeyStorage {
     private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
 
     public static void saveKeyPair(SDithKeyPair keyPair, String filePath) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(filePath);
-             ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-            oos.writeObject(keyPair);
+        SDithPublicKey publicKey = keyPair.getPublicKey();
+        SDithPrivateKeyShare share = keyPair.getPrivateKeyShare();
+
+        ObjectNode root = mapper.createObjectNode();
+        root.put("threshold", publicKey.getThreshold());
+        root.put("totalParties", publicKey.getTotalParties());
+        root.put("curveOrder", publicKey.getCurveOrder().toString(16));
+        root.put("index", share.getIndex());
+        root.put("share", share.getShare().toString(16));
+        root.put("modulus", share.getModulus().toString(16));
+
+        try (OutputStream out = Files.newOutputStream(createOwnerOnly(Path.of(filePath)))) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(out, root);
         }
     }
 
-    public static SDithKeyPair loadKeyPair(String filePath) throws IOException, ClassNotFoundException {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             ObjectInputStream ois = new ObjectInputStream(fis)) {
-            return (SDithKeyPair) ois.readObject();
+    /**
+     * The share file, created (or truncated) as rw------- before any secret is written to it..
+     * Non-POSIX file systems get a best-effort owner-only setting through java.io.File..
+     */
+    private static Path createOwnerOnly(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        try {
+            return Files.createFile(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(path);
+            File file = path.toFile();
+            file.setReadable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(false, false);
+            file.setWritable(true, true);
+            return path;
         }
     }
+
+    public static SDithKeyPair loadKeyPair(String filePath) throws IOException {
+        JsonNode root;
+        try (FileInputStream fis = new FileInputStream(filePath)) {
+            root = mapper.readTree(fis);
+        }
+        if (root == null || !root.has("share")) {
+            throw new IOException("Not a key share file: " + filePath);
+        }
+
+        SDithPublicKey publicKey = new SDithPublicKey(
+            null,
+            root.path("threshold").asInt(),
+            root.path("totalParties").asInt(),
+            new BigInteger(root.path("curveOrder").asText(), 16)
+        );
+        SDithPrivateKeyShare share = new SDithPrivateKeyShare(
+            new BigInteger(root.path("share").asText(), 16),
+            root.path("index").asInt(),
+            new BigInteger(root.path("modulus").asText(), 16)
+        );
+        return new SDithKeyPair(publicKey, share);
+    }
 }
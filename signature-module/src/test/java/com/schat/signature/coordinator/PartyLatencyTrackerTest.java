@@ -0,0 +1,76 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.core.SDithPartialSignature;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartyLatencyTrackerTest {
+
+    @Test
+    void ranksByLatencyAndFailures() {
+        PartyLatencyTracker tracker = new PartyLatencyTracker();
+        tracker.recordSuccess(1, 30_000_000);
+        tracker.recordSuccess(2, 10_000_000);
+        tracker.recordFailure(3, 1_000_000);
+
+        List<PartySigningClient> ranked = tracker.rank(List.of(party(1), party(2), party(3), party(4)));
+
+        // Unseen 4 first, then 2 (10ms), 1 (30ms), 3 (1ms + one failure penalty)..
+        assertEquals(List.of(4, 2, 1, 3), indexes(ranked));
+    }
+
+    @Test
+    void ranksWhileStatsChange() throws Exception {
+        PartyLatencyTracker tracker = new PartyLatencyTracker();
+        List<PartySigningClient> parties = new ArrayList<>();
+        for (int i = 1; i <= 64; i++) {
+            parties.add(party(i));
+            tracker.recordSuccess(i, i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (running.get()) {
+                tracker.recordSuccess(random.nextInt(1, 65), random.nextLong(1, 1_000_000));
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                assertEquals(64, tracker.rank(parties).size());
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    private static List<Integer> indexes(List<PartySigningClient> parties) {
+        List<Integer> indexes = new ArrayList<>();
+        for (PartySigningClient party : parties) {
+            indexes.add(party.getPartyIndex());
+        }
+        return indexes;
+    }
+
+    private static PartySigningClient party(int index) {
+        return new PartySigningClient() {
+            @Override
+            public int getPartyIndex() {
+                return index;
+            }
+
+            @Override
+            public CompletableFuture<SDithPartialSignature> requestPartialSignature(byte[] message) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
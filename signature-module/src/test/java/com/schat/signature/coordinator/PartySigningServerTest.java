@@ -0,0 +1,97 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.core.SDithKeyGenerator;
+import com.schat.signature.core.SDithPartialSignature;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartySigningServerTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private SDithKeyGenerator keyGenerator;
+    private PartySigningServer server;
+    private URI baseUri;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        keyGenerator = SDithThresholdScheme.generateKeyPair(2, 3, SignatureConfig.DEFAULT_CURVE_ORDER);
+        server = new PartySigningServer(keyGenerator.getKeyPairForParty(2), PartyRequestAuth.fromText(SECRET),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        baseUri = URI.create("http://127.0.0.1:" + server.getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void signsAuthenticatedRequests() throws Exception {
+        HttpPartySigningClient client = client(SECRET);
+
+        SDithPartialSignature partial = client.requestPartialSignature("hello".getBytes(StandardCharsets.UTF_8)).get();
+
+        assertEquals(2, partial.getShareIndex());
+    }
+
+    @Test
+    void rejectsRequestsSignedWithAnotherSecret() {
+        HttpPartySigningClient client = client("another-secret-of-at-least-32-bytes!");
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> client.requestPartialSignature("hello".getBytes(StandardCharsets.UTF_8)).get());
+        assertTrue(e.getCause().getMessage().contains("401"));
+    }
+
+    @Test
+    void rejectsUnsignedRequests() throws Exception {
+        HttpResponse<Void> response = httpClient.send(
+            HttpRequest.newBuilder(baseUri.resolve(PartySigningServer.PARTIAL_PATH))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"message\":\"aGVsbG8=\"}"))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(401, response.statusCode());
+    }
+
+    @Test
+    void rejectsOversizedBodies() throws Exception {
+        byte[] body = new byte[PartySigningServer.MAX_BODY_BYTES + 1];
+        HttpResponse<Void> response = httpClient.send(
+            HttpRequest.newBuilder(baseUri.resolve(PartySigningServer.PARTIAL_PATH))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(413, response.statusCode());
+    }
+
+    @Test
+    void rejectsShortSecrets() {
+        assertThrows(IllegalArgumentException.class, () -> PartyRequestAuth.fromText("too short"));
+    }
+
+    private HttpPartySigningClient client(String secret) {
+        return new HttpPartySigningClient(2, baseUri, PartyRequestAuth.fromText(secret),
+            httpClient, Duration.ofSeconds(5));
+    }
+}
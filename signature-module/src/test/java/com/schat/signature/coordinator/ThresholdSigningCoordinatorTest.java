@@ -0,0 +1,80 @@
+package com.schat.signature.coordinator;
+
+import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.core.SDithKeyGenerator;
+import com.schat.signature.core.SDithPartialSignature;
+import com.schat.signature.core.SDithSignature;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThresholdSigningCoordinatorTest {
+    private final SDithKeyGenerator keyGenerator =
+        SDithThresholdScheme.generateKeyPair(2, 10, SignatureConfig.DEFAULT_CURVE_ORDER);
+
+    @Test
+    void signsWithTheFastestQuorum() throws Exception {
+        List<PartySigningClient> parties = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            parties.add(new LocalPartySigningClient(keyGenerator.getKeyPairForParty(i), Runnable::run));
+        }
+        byte[] message = "token".getBytes(StandardCharsets.UTF_8);
+
+        try (ThresholdSigningCoordinator coordinator = new ThresholdSigningCoordinator(
+                parties, keyGenerator.getPublicKey(), Duration.ofMillis(50), Duration.ofSeconds(2))) {
+            List<SDithPartialSignature> partials = coordinator.collectPartialSignatures(message).get();
+            assertEquals(2, partials.size());
+
+            SDithSignature signature = coordinator.sign(message).get();
+            assertEquals(SDithThresholdScheme.nonceCommitment(message, SignatureConfig.DEFAULT_CURVE_ORDER),
+                signature.getR());
+            assertEquals(SDithThresholdScheme.combineSignatures(partials, keyGenerator.getPublicKey(), message)
+                .getS(), signature.getS());
+        }
+    }
+
+    @Test
+    void hedgingAsksOneBackupPerMissingPartial() {
+        AtomicInteger requests = new AtomicInteger();
+        List<PartySigningClient> parties = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            parties.add(silentParty(i, requests));
+        }
+
+        try (ThresholdSigningCoordinator coordinator = new ThresholdSigningCoordinator(
+                parties, keyGenerator.getPublicKey(), Duration.ofMillis(5), Duration.ofMillis(300))) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                () -> coordinator.collectPartialSignatures(new byte[] { 1 }).get());
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+        // t = 2 primaries plus 2 backups, however many hedge ticks passed..
+        assertEquals(4, requests.get());
+    }
+
+    private static PartySigningClient silentParty(int index, AtomicInteger requests) {
+        return new PartySigningClient() {
+            @Override
+            public int getPartyIndex() {
+                return index;
+            }
+
+            @Override
+            public CompletableFuture<SDithPartialSignature> requestPartialSignature(byte[] message) {
+                requests.incrementAndGet();
+                return new CompletableFuture<>();
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.schat.signature.core;
+
+import com.schat.signature.config.SignatureConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixedBaseExponentiatorTest {
+    private static final BigInteger GENERATOR = BigInteger.valueOf(2);
+
+    // The scheme's modulus, a prime with all 256 bits of the top limb in use (secp256k1's p),
+    // a one-limb prime and an odd composite that takes the two-power verification path..
+    private static final List<BigInteger> MODULI = List.of(
+        SignatureConfig.DEFAULT_CURVE_ORDER,
+        BigInteger.TWO.pow(256).subtract(BigInteger.TWO.pow(32)).subtract(BigInteger.valueOf(977)),
+        BigInteger.TWO.pow(61).subtract(BigInteger.ONE),
+        BigInteger.TWO.pow(61).subtract(BigInteger.ONE).multiply(BigInteger.TWO.pow(64).subtract(BigInteger.valueOf(59))));
+
+    private final Random random = new Random(42);
+
+    @Test
+    void powMatchesModPow() {
+        for (BigInteger modulus : MODULI) {
+            FixedBaseExponentiator table = new FixedBaseExponentiator(GENERATOR, modulus);
+            for (BigInteger exponent : exponents(modulus)) {
+                assertEquals(GENERATOR.modPow(exponent, modulus), table.pow(exponent),
+                    "2^" + exponent + " mod " + modulus);
+            }
+        }
+    }
+
+    @Test
+    void verifiesRelationMatchesTheModPowEquation() {
+        for (BigInteger modulus : MODULI) {
+            FixedBaseExponentiator table = new FixedBaseExponentiator(GENERATOR, modulus);
+            List<BigInteger> exponents = exponents(modulus);
+            for (int i = 0; i < exponents.size(); i++) {
+                BigInteger s = exponents.get(i);
+                BigInteger e = exponents.get((i * 7 + 3) % exponents.size());
+                // r = g^s / g^e satisfies the relation, r + 1 doesn't..
+                BigInteger r = GENERATOR.modPow(s, modulus)
+                    .multiply(GENERATOR.modPow(e, modulus).modInverse(modulus)).mod(modulus);
+                assertTrue(table.verifiesRelation(s, r, e), "s=" + s + " e=" + e + " mod " + modulus);
+                for (BigInteger candidate : List.of(r, r.add(BigInteger.ONE).mod(modulus),
+                        new BigInteger(modulus.bitLength(), random).mod(modulus))) {
+                    assertEquals(oldEquation(s, candidate, e, modulus), table.verifiesRelation(s, candidate, e),
+                        "s=" + s + " r=" + candidate + " e=" + e + " mod " + modulus);
+                }
+            }
+        }
+    }
+
+    // g^s == r * g^e (mod p), as verifySignature computed it before the tables..
+    private static boolean oldEquation(BigInteger s, BigInteger r, BigInteger e, BigInteger modulus) {
+        return GENERATOR.modPow(s, modulus).equals(r.multiply(GENERATOR.modPow(e, modulus)).mod(modulus));
+    }
+
+    private List<BigInteger> exponents(BigInteger modulus) {
+        List<BigInteger> exponents = new ArrayList<>(List.of(
+            BigInteger.ZERO,
+            BigInteger.ONE,
+            modulus.subtract(BigInteger.ONE),
+            modulus.subtract(BigInteger.TWO),
+            // All-ones windows, and exponents wider than the table..
+            BigInteger.ONE.shiftLeft(modulus.bitLength()).subtract(BigInteger.ONE),
+            BigInteger.ONE.shiftLeft(modulus.bitLength()),
+            new BigInteger(modulus.bitLength() + 70, random)));
+        for (int i = 0; i < 50; i++) {
+            exponents.add(new BigInteger(modulus.bitLength(), random).mod(modulus));
+        }
+        return exponents;
+    }
+}
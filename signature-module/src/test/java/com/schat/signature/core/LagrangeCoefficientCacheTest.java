@@ -0,0 +1,102 @@
+package com.schat.signature.core;
+
+import com.schat.signature.config.SignatureConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LagrangeCoefficientCacheTest {
+    private static final BigInteger Q = SignatureConfig.DEFAULT_CURVE_ORDER;
+
+    // Overlapping sets, which must not share an entry, and sets past 63 (BitSet keys)..
+    private static final List<int[]> SETS = List.of(
+        new int[] { 1, 2 }, new int[] { 1, 3 }, new int[] { 2, 3 }, new int[] { 1, 2, 3 },
+        new int[] { 2, 5, 9 }, new int[] { 1, 63 }, new int[] { 3, 64, 70 }, new int[] { 1, 64 });
+
+    @Test
+    void cachedCoefficientsEqualFreshOnes() {
+        List<int[]> reversed = new ArrayList<>(SETS);
+        Collections.reverse(reversed);
+
+        for (List<int[]> order : List.of(SETS, reversed)) {
+            LagrangeCoefficientCache cache = new LagrangeCoefficientCache(Q);
+            for (int round = 0; round < 2; round++) {
+                for (int[] set : order) {
+                    assertArrayEquals(fresh(set), cache.coefficientsFor(set), Arrays.toString(set));
+                }
+            }
+        }
+    }
+
+    @Test
+    void coefficientsInterpolateTheConstantTerm() {
+        Random random = new Random(3);
+        LagrangeCoefficientCache cache = new LagrangeCoefficientCache(Q);
+        for (int[] set : SETS) {
+            BigInteger[] polynomial = new BigInteger[set.length];
+            for (int i = 0; i < polynomial.length; i++) {
+                polynomial[i] = new BigInteger(Q.bitLength() - 1, random);
+            }
+            BigInteger[] coefficients = cache.coefficientsFor(set);
+            BigInteger secret = BigInteger.ZERO;
+            for (int i = 0; i < set.length; i++) {
+                secret = secret.add(coefficients[i].multiply(evaluate(polynomial, set[i]))).mod(Q);
+            }
+            assertEquals(polynomial[0], secret);
+        }
+    }
+
+    @Test
+    void combiningDoesNotDependOnPartialOrder() {
+        SDithKeyGenerator keys = SDithThresholdScheme.generateKeyPair(3, 5, Q);
+        byte[] message = "token".getBytes(StandardCharsets.UTF_8);
+        BigInteger nonce = SDithThresholdScheme.generateDeterministicNonce(message, Q);
+        List<SDithPartialSignature> partials = new ArrayList<>();
+        for (int party : new int[] { 4, 1, 5 }) {
+            SDithPrivateKeyShare share = keys.getKeyPairForParty(party).getPrivateKeyShare();
+            partials.add(SDithThresholdScheme.generatePartialSignatureWithSharedNonce(
+                message, share.getShare(), share.getIndex(), nonce, Q));
+        }
+
+        BigInteger expected = SDithThresholdScheme.combineSignatures(partials, keys.getPublicKey(), message).getS();
+        for (int shift = 1; shift < partials.size(); shift++) {
+            List<SDithPartialSignature> rotated = new ArrayList<>(partials);
+            Collections.rotate(rotated, shift);
+            assertEquals(expected,
+                SDithThresholdScheme.combineSignatures(rotated, keys.getPublicKey(), message).getS());
+        }
+    }
+
+    // lambda_i = prod_{j != i} j / (j - i), one modInverse per factor..
+    private static BigInteger[] fresh(int[] set) {
+        BigInteger[] coefficients = new BigInteger[set.length];
+        for (int i = 0; i < set.length; i++) {
+            BigInteger lambda = BigInteger.ONE;
+            for (int j = 0; j < set.length; j++) {
+                if (j != i) {
+                    BigInteger xj = BigInteger.valueOf(set[j]);
+                    lambda = lambda.multiply(xj).multiply(xj.subtract(BigInteger.valueOf(set[i])).modInverse(Q)).mod(Q);
+                }
+            }
+            coefficients[i] = lambda;
+        }
+        return coefficients;
+    }
+
+    private static BigInteger evaluate(BigInteger[] polynomial, int x) {
+        BigInteger result = BigInteger.ZERO;
+        for (int i = polynomial.length - 1; i >= 0; i--) {
+            result = result.multiply(BigInteger.valueOf(x)).add(polynomial[i]).mod(Q);
+        }
+        return result;
+    }
+}
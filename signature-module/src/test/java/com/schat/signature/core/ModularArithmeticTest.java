@@ -0,0 +1,46 @@
+package com.schat.signature.core;
+
+import com.schat.signature.config.SignatureConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModularArithmeticTest {
+    private static final BigInteger Q = SignatureConfig.DEFAULT_CURVE_ORDER;
+
+    @Test
+    void batchInverseMatchesModInverse() {
+        Random random = new Random(11);
+        for (int n : new int[] { 1, 2, 3, 10 }) {
+            BigInteger[] values = new BigInteger[n];
+            for (int i = 0; i < n; i++) {
+                // Some unreduced and negative values, as Lagrange denominators can be..
+                values[i] = new BigInteger(Q.bitLength() + 8, random).add(BigInteger.ONE);
+                if (i % 3 == 1) {
+                    values[i] = values[i].negate();
+                }
+            }
+            BigInteger[] expected = new BigInteger[n];
+            for (int i = 0; i < n; i++) {
+                expected[i] = values[i].modInverse(Q);
+            }
+            assertArrayEquals(expected, ModularArithmetic.batchInverse(values, Q), "n=" + n);
+        }
+    }
+
+    @Test
+    void batchInverseOfNothingIsEmpty() {
+        assertEquals(0, ModularArithmetic.batchInverse(new BigInteger[0], Q).length);
+    }
+
+    @Test
+    void batchInverseRejectsANonInvertibleValue() {
+        BigInteger[] values = { BigInteger.TWO, Q, BigInteger.TEN };
+        assertThrows(ArithmeticException.class, () -> ModularArithmetic.batchInverse(values, Q));
+    }
+}
@@ -0,0 +1,84 @@
+package com.schat.signature.core;
+
+import org.bouncycastle.crypto.digests.SHA3Digest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SDitHSignerTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 300;
+
+    @Test
+    void oneSignerServesManyThreads() throws Exception {
+        SDitHSigner signer = new SDitHSigner();
+        List<SDitHKeyPair> keyPairs = List.of(
+            signer.generateKeyPair(new SDitHParameters(SDitHParameters.SECURITY_LEVEL_128)),
+            signer.generateKeyPair(new SDitHParameters(SDitHParameters.SECURITY_LEVEL_256)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ROUNDS; i++) {
+                        SDitHKeyPair keyPair = keyPairs.get((thread + i) % keyPairs.size());
+                        byte[] message = ("thread " + thread + " message " + i).getBytes(StandardCharsets.UTF_8);
+                        byte[] signature = signer.sign(message, keyPair.getPrivateKey());
+
+                        assertTrue(signer.verify(message, signature, keyPair.getPublicKey()), "thread " + thread);
+                        assertFalse(signer.verify("other".getBytes(StandardCharsets.UTF_8), signature,
+                            keyPair.getPublicKey()));
+                        // A digest or buffer shared with another thread would garble the response..
+                        assertArrayEquals(expectedResponse(keyPair, signature),
+                            Arrays.copyOfRange(signature, 48, 80), "thread " + thread);
+
+                        // Key generation shares the workspaces too..
+                        if (i % 50 == 0) {
+                            SDitHParameters params = keyPair.getPublicKey().getParams();
+                            SDitHKeyPair fresh = signer.generateKeyPair(params);
+                            assertArrayEquals(SyndromeEngine.computeSyndrome(fresh.getPublicKey().getH(),
+                                    fresh.getPrivateKey().getSecretKey(), params.getN(), params.getK()),
+                                fresh.getPublicKey().getSyndrome());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // SHA3-256(secret key || challenge || zeros), as generateResponse defines it..
+    private static byte[] expectedResponse(SDitHKeyPair keyPair, byte[] signature) {
+        byte[] secretKey = keyPair.getPrivateKey().getSecretKey();
+        byte[] response = new byte[(keyPair.getPrivateKey().getParams().getN() + 7) / 8 + 32];
+        System.arraycopy(secretKey, 0, response, 0, secretKey.length);
+        System.arraycopy(signature, 32, response, secretKey.length, 16);
+        SHA3Digest digest = new SHA3Digest(256);
+        digest.update(response, 0, response.length);
+        byte[] out = new byte[32];
+        digest.doFinal(out, 0);
+        return out;
+    }
+}
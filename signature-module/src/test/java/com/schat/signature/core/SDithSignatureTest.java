@@ -0,0 +1,49 @@
+package com.schat.signature.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SDithSignatureTest {
+
+    @Test
+    void roundTripsFixedWidthScalars() {
+        SDithSignature signature = new SDithSignature(BigInteger.ONE, BigInteger.TWO.pow(255));
+        byte[] encoded = signature.toBytes();
+
+        assertEquals(SDithSignature.ENCODED_LENGTH, encoded.length);
+        SDithSignature decoded = SDithSignature.fromBytes(encoded);
+        assertEquals(signature.getR(), decoded.getR());
+        assertEquals(signature.getS(), decoded.getS());
+    }
+
+    @Test
+    void badScalarLeavesTheBufferUntouched() {
+        SDithSignature signature = new SDithSignature(BigInteger.ONE, BigInteger.TWO.pow(256));
+        ByteBuffer out = ByteBuffer.allocate(SDithSignature.ENCODED_LENGTH);
+
+        assertThrows(IllegalArgumentException.class, () -> signature.encodeTo(out));
+        assertEquals(0, out.position());
+        assertArrayEquals(new byte[SDithSignature.ENCODED_LENGTH], out.array());
+    }
+
+    @Test
+    void rejectsSlicesOutsideTheArray() {
+        byte[] data = new byte[SDithSignature.ENCODED_LENGTH + 4];
+        data[0] = SDithSignature.VERSION_1;
+        data[4] = SDithSignature.VERSION_1;
+
+        assertEquals(BigInteger.ZERO, SDithSignature.fromBytes(data, 4, SDithSignature.ENCODED_LENGTH).getR());
+        assertThrows(IllegalArgumentException.class,
+            () -> SDithSignature.fromBytes(data, -1, SDithSignature.ENCODED_LENGTH));
+        assertThrows(IllegalArgumentException.class,
+            () -> SDithSignature.fromBytes(data, 5, SDithSignature.ENCODED_LENGTH));
+        assertThrows(IllegalArgumentException.class,
+            () -> SDithSignature.fromBytes(new byte[10], 0, SDithSignature.ENCODED_LENGTH));
+    }
+}
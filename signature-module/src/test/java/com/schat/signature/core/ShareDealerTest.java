@@ -0,0 +1,79 @@
+package com.schat.signature.core;
+
+import com.schat.signature.config.SignatureConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShareDealerTest {
+    private static final BigInteger Q = SignatureConfig.DEFAULT_CURVE_ORDER;
+    private static final int THRESHOLD = 5;
+    // Well past PARTIES_PER_TASK, so dealing forks several levels deep..
+    private static final int PARTIES = 300;
+
+    private final Random random = new Random(5);
+
+    @Test
+    void anyThresholdOfDealtSharesRecoversTheSecret() {
+        List<BigInteger> coefficients = new ArrayList<>();
+        for (int i = 0; i < THRESHOLD; i++) {
+            coefficients.add(new BigInteger(256, random).mod(Q));
+        }
+        ShareDealer dealer = new ShareDealer(coefficients, PARTIES, Q);
+
+        AtomicReferenceArray<BigInteger> dealt = new AtomicReferenceArray<>(PARTIES + 1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            dealer.dealShares(pool, (share, partyIndex) -> assertNull(dealt.getAndSet(partyIndex, share)));
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Integer> parties = new ArrayList<>();
+        for (int i = 1; i <= PARTIES; i++) {
+            assertNotNull(dealt.get(i), "party " + i);
+            assertEquals(dealer.shareFor(i), dealt.get(i));
+            parties.add(i);
+        }
+        for (int round = 0; round < 20; round++) {
+            Collections.shuffle(parties, random);
+            List<Integer> chosen = parties.subList(0, THRESHOLD);
+            assertEquals(coefficients.get(0), interpolateAtZero(chosen, dealt), "parties " + chosen);
+        }
+    }
+
+    @Test
+    void computeAllSharesMatchesShareFor() {
+        ShareDealer dealer = new ShareDealer(List.of(BigInteger.valueOf(7), BigInteger.valueOf(3)), 100, Q);
+        BigInteger[] shares = dealer.computeAllShares();
+        for (int i = 1; i <= 100; i++) {
+            // f(x) = 7 + 3x ..
+            assertEquals(BigInteger.valueOf(7 + 3L * i), shares[i - 1]);
+        }
+    }
+
+    private static BigInteger interpolateAtZero(List<Integer> parties, AtomicReferenceArray<BigInteger> shares) {
+        BigInteger secret = BigInteger.ZERO;
+        for (int i : parties) {
+            BigInteger lambda = BigInteger.ONE;
+            for (int j : parties) {
+                if (j != i) {
+                    lambda = lambda.multiply(BigInteger.valueOf(j))
+                        .multiply(BigInteger.valueOf(j - i).modInverse(Q)).mod(Q);
+                }
+            }
+            secret = secret.add(lambda.multiply(shares.get(i))).mod(Q);
+        }
+        return secret;
+    }
+}
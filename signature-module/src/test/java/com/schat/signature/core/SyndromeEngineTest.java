@@ -0,0 +1,64 @@
+package com.schat.signature.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class SyndromeEngineTest {
+    // The three SDitH parameter sets, then sizes whose rows and vectors end in a partial word..
+    private static final int[][] SIZES = {
+        { 230, 104 }, { 352, 154 }, { 480, 206 },
+        { 1, 0 }, { 63, 1 }, { 64, 0 }, { 65, 1 }, { 127, 63 }, { 129, 65 }, { 200, 77 }
+    };
+
+    private final Random random = new Random(7);
+
+    @Test
+    void matchesTheBitByBitProduct() {
+        for (int[] size : SIZES) {
+            int n = size[0];
+            int k = size[1];
+            for (int round = 0; round < 20; round++) {
+                byte[] h = randomBytes(((n - k) * n + 7) / 8);
+                byte[] e = randomBytes((n + 7) / 8);
+                assertArrayEquals(bitByBit(h, e, n, k), SyndromeEngine.computeSyndrome(h, e, n, k),
+                    "n=" + n + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void ignoresPaddingBitsPastN() {
+        int n = 65;
+        int k = 1;
+        byte[] h = randomBytes(((n - k) * n + 7) / 8);
+        byte[] e = randomBytes((n + 7) / 8);
+        byte[] padded = e.clone();
+        padded[padded.length - 1] |= (byte) 0xFE; // bits 65..71 are not part of e..
+
+        assertArrayEquals(bitByBit(h, e, n, k), SyndromeEngine.computeSyndrome(h, padded, n, k));
+    }
+
+    // The loop computeSyndrome replaced..
+    private static byte[] bitByBit(byte[] h, byte[] errorVector, int n, int k) {
+        byte[] syndrome = new byte[(n - k + 7) / 8];
+        for (int i = 0; i < n - k; i++) {
+            int bit = 0;
+            for (int j = 0; j < n; j++) {
+                int hBit = (h[(i * n + j) / 8] >> ((i * n + j) % 8)) & 1;
+                int eBit = (errorVector[j / 8] >> (j % 8)) & 1;
+                bit ^= (hBit & eBit);
+            }
+            syndrome[i / 8] |= (bit << (i % 8));
+        }
+        return syndrome;
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.schat.signature.service;
+
+import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.core.SDithSignature;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenSigningServiceTest {
+    private static final BigInteger Q = SignatureConfig.DEFAULT_CURVE_ORDER;
+    private static final BigInteger GENERATOR = BigInteger.valueOf(2);
+    // The demonstration scheme's placeholder public value..
+    private static final BigInteger PUBLIC_VALUE = BigInteger.valueOf(123456789);
+
+    private final SecureRandom random = new SecureRandom();
+    private final TokenSigningService service = new TokenSigningService(
+        SDithThresholdScheme.generateKeyPair(2, 3, Q).getKeyPairForParty(1));
+
+    @Test
+    void acceptsValidSignatures() throws Exception {
+        List<byte[]> tokens = tokens(32);
+        List<byte[]> signatures = new ArrayList<>();
+        for (byte[] token : tokens) {
+            signatures.add(validSignature(token).toBytes());
+        }
+
+        assertTrue(service.verifyTokenSignatures(tokens, signatures));
+    }
+
+    @Test
+    void rejectsNegatedNonceCommitment() throws Exception {
+        // q - r = (-1) * r differs from r only by the order-2 element, the forgery a
+        // random-linear-combination batch would let through about half the time..
+        for (int trial = 0; trial < 64; trial++) {
+            List<byte[]> tokens = tokens(32);
+            List<byte[]> signatures = new ArrayList<>();
+            for (byte[] token : tokens) {
+                signatures.add(validSignature(token).toBytes());
+            }
+            int forged = random.nextInt(tokens.size());
+            SDithSignature valid = SDithSignature.fromBytes(signatures.get(forged));
+            signatures.set(forged, new SDithSignature(Q.subtract(valid.getR()), valid.getS()).toBytes());
+
+            assertFalse(service.verifyTokenSignature(tokens.get(forged), signatures.get(forged)));
+            assertFalse(service.verifyTokenSignatures(tokens, signatures));
+        }
+    }
+
+    private List<byte[]> tokens(int count) {
+        List<byte[]> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(("user-" + i + ":" + random.nextLong()).getBytes(StandardCharsets.UTF_8));
+        }
+        return tokens;
+    }
+
+    /**
+     * Picks s and solves g^s == r * g^(H(m) * Y) for r..
+     */
+    private SDithSignature validSignature(byte[] token) throws Exception {
+        BigInteger hash = new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(token)).mod(Q);
+        BigInteger e = hash.multiply(PUBLIC_VALUE).mod(Q);
+        BigInteger s = new BigInteger(255, random);
+        BigInteger r = GENERATOR.modPow(s.subtract(e).mod(Q.subtract(BigInteger.ONE)), Q);
+        return new SDithSignature(r, s);
+    }
+}
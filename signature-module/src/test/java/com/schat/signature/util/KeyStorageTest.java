@@ -0,0 +1,38 @@
+package com.schat.signature.util;
+
+import com.schat.signature.config.SignatureConfig;
+import com.schat.signature.core.SDithKeyPair;
+import com.schat.signature.core.SDithThresholdScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class KeyStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shareFilesAreOwnerOnlyAndRoundTrip() throws Exception {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        SDithKeyPair keyPair = SDithThresholdScheme.generateKeyPair(2, 3, SignatureConfig.DEFAULT_CURVE_ORDER)
+            .getKeyPairForParty(1);
+        Path file = directory.resolve("party-1.json");
+        Files.writeString(file, "stale, world-readable");
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+
+        KeyStorage.saveKeyPair(keyPair, file.toString());
+
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        SDithKeyPair loaded = KeyStorage.loadKeyPair(file.toString());
+        assertEquals(keyPair.getPrivateKeyShare().getShare(), loaded.getPrivateKeyShare().getShare());
+        assertEquals(keyPair.getPrivateKeyShare().getIndex(), loaded.getPrivateKeyShare().getIndex());
+    }
+}